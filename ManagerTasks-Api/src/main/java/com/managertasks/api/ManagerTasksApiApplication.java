@@ -2,8 +2,11 @@ package com.managertasks.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// @EnableScheduling runs the @Scheduled maintenance jobs (e.g. tombstone purge)
 @SpringBootApplication
+@EnableScheduling
 public class ManagerTasksApiApplication {
 
     public static void main(String[] args) {
@@ -1,9 +1,14 @@
 package com.managertasks.api.config;
 
 import com.managertasks.api.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -35,7 +40,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * 4. @BEAN METHOD EXECUTION (Bean Creation Phase):
  *    - Each @Bean method is called to create actual bean instances
  *    - Methods are executed in dependency order
- *    - Order: passwordEncoder() → authenticationManager() → securityFilterChain()
+ *    - Order: passwordEncoder() → authenticationManager() → managementSecurityFilterChain() → securityFilterChain()
  *    - Returned objects are registered in the ApplicationContext
  *
  * 5. DEPENDENCY INJECTION (Wiring Phase):
@@ -71,6 +76,29 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // Phase 4: Third @Bean method called
+    // Actuator endpoints (health, info, prometheus) are open without a token: they are served on the
+    // management port only, which is not published outside the container network
+    // EndpointRequest only matches requests of the management context when that port is separate, so
+    // startup fails instead of opening the endpoints when management.server.port is unset, equal to
+    // server.port, or -1 (actuator over HTTP disabled)
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http, Environment environment)
+            throws Exception {
+        if (ManagementPortType.get(environment) != ManagementPortType.DIFFERENT) {
+            throw new IllegalStateException("management.server.port must be set to a port other than server.port, got "
+                    + environment.getProperty("management.server.port"));
+        }
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     // Phase 4: Last @Bean method called (depends on jwtAuthenticationFilter from Phase 3)
     // Creates SecurityFilterChain bean that configures Spring Security
     // HttpSecurity is auto-injected by Spring, jwtAuthenticationFilter was already injected into the class
@@ -80,8 +108,13 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (StreamingResponseBody completion) belong to a request that was
+                // already authorized; the stateless JWT context is not carried over to them
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                // Admin endpoints (on-demand JFR profiling): users listed in security.admin-user-ids
+                // get ROLE_ADMIN from JwtAuthenticationFilter
+                .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
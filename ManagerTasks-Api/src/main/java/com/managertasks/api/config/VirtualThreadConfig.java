@@ -0,0 +1,93 @@
+package com.managertasks.api.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true, env VIRTUAL_THREADS_ENABLED).
+ *
+ * When enabled, Spring Boot runs Tomcat request handling (and @Async / scheduling executors)
+ * on virtual threads. This configuration only exists in that mode and adds the two things the
+ * persistence layer needs on top of it:
+ *
+ * 1. DB CONCURRENCY BOUND:
+ *    - The Hikari pool is the bound: at most maximum-pool-size (DB_POOL_SIZE) requests hold a
+ *      connection, the others wait in the pool's hand-off queue, parked cheaply as virtual threads
+ *    - A request fails with SQLTransientConnectionException after connectionTimeout: one deadline
+ *      for the whole wait (a semaphore in front of the pool would add a second wait of its own)
+ *    - Hikari waits with SynchronousQueue/LockSupport, never inside synchronized, so the waiting
+ *      threads unmount from their carriers
+ *
+ * 2. PINNING CHECK:
+ *    - A JFR stream listens for jdk.VirtualThreadPinned (a virtual thread blocked while it could
+ *      not unmount from its carrier, e.g. inside a synchronized block) and logs the top frames
+ *    - The JDBC path (HikariCP 7, pgjdbc 42.7) and our own stores use ReentrantLock rather than
+ *      synchronized, so this should stay silent; anything it reports is a regression to fix
+ *    - For full stacks run with -Djdk.tracePinnedThreads=full
+ *
+ * BCrypt stays on the platform-thread PasswordHashingExecutor: it is CPU-bound, and virtual
+ * threads only help with blocking work.
+ *
+ * Throughput and p99 latency of both modes are compared by ThreadingLoadTest in the benchmark
+ * module (same dataset, same endpoint, increasing numbers of concurrent clients).
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Value("${app.virtual-threads.pinning-monitor.enabled:true}")
+    private boolean pinningMonitorEnabled;
+
+    @Value("${app.virtual-threads.pinning-monitor.threshold-ms:20}")
+    private long pinningThresholdMs;
+
+    private RecordingStream pinningStream;
+
+    @PostConstruct
+    public void startPinningMonitor() {
+        if (!pinningMonitorEnabled) {
+            return;
+        }
+        pinningStream = new RecordingStream();
+        pinningStream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(pinningThresholdMs))
+                .withStackTrace();
+        pinningStream.onEvent("jdk.VirtualThreadPinned", this::reportPinned);
+        pinningStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stopPinningMonitor() {
+        if (pinningStream != null) {
+            pinningStream.close();
+        }
+    }
+
+    private void reportPinned(RecordedEvent event) {
+        String frames = event.getStackTrace() == null ? "<no stack trace>"
+                : event.getStackTrace().getFrames().stream()
+                        .limit(8)
+                        .map(VirtualThreadConfig::describe)
+                        .collect(Collectors.joining(" <- "));
+        log.warn("Virtual thread pinned its carrier for {} ms: {}", event.getDuration().toMillis(), frames);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+}
@@ -1,11 +1,41 @@
 package com.managertasks.api.controller;
 
-import com.managertasks.api.service.TodoService;
+import com.managertasks.api.dto.request.TodoBatchUpdate;
+import com.managertasks.api.dto.request.TodoCursor;
+import com.managertasks.api.dto.request.TodoRecord;
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoBatchResponse;
+import com.managertasks.api.dto.response.TodoImportResult;
+import com.managertasks.api.dto.response.TodoChanges;
+import com.managertasks.api.dto.response.TodoPage;
+import com.managertasks.api.dto.response.TodoStats;
+import com.managertasks.api.dto.response.TodoView;
+import com.managertasks.api.security.AuthenticatedUser;
+import com.managertasks.api.service.importer.TodoImportFormat;
+import com.managertasks.api.service.stream.TodoEventStreams;
+import com.managertasks.api.service.TodoImportService;
+import com.managertasks.api.service.TodoServiceInMemory;
+import com.managertasks.api.service.TodoServicePostgreSQL;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * @RestController Lifecycle:
@@ -60,13 +90,21 @@ public class ManagerTodoController {
     // 6. INJECTION: Selected bean is injected into the annotated field
     // 7. READY: ManagerTodoController has both services available for use
 
+    // Injected as the concrete type: the Long-ID operations are in-memory specific
     @Autowired
     @Qualifier("todoServiceInMemory")
-    private TodoService todoServiceInMemory;
+    private TodoServiceInMemory todoServiceInMemory;
 
+    // Injected as the concrete type: the UUID-based, owner-scoped operations are PostgreSQL specific
     @Autowired
     @Qualifier("todoServicePostgreSQL")
-    private TodoService todoServicePostgreSQL;
+    private TodoServicePostgreSQL todoServicePostgreSQL;
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private TodoEventStreams todoEventStreams;
 
     @GetMapping("/health")
     public ResponseEntity<String> health() {
@@ -83,13 +121,26 @@ public class ManagerTodoController {
 
     // @RequestParam Example:
     // Extracts query parameters from URL and passes them as method parameters
-    // URL pattern: /api/v1/todo/search?status=completed&priority=high
+    // URL pattern: /api/v1/todo/search/list?status=completed&priority=high&q=report
+    //              &createdFrom=2026-01-01T00:00:00Z&createdTo=...&updatedFrom=...&updatedTo=...
+    //              &cursor=...&limit=50
     // Query parameters are optional by default, use required=true to make mandatory
+    // Searches the caller's database todos; every filter given is combined with AND
     @GetMapping("/search/list")
-    public ResponseEntity<String> searchTodos(
+    public ResponseEntity<TodoPage> searchTodos(
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String priority) {
-        return ResponseEntity.ok("Searching todos with status: " + status + ", priority: " + priority);
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        TodoSearchCriteria criteria = TodoSearchCriteria.of(
+                status, priority, q, createdFrom, createdTo, updatedFrom, updatedTo);
+        return ResponseEntity.ok(todoServicePostgreSQL.searchTodos(user.userId(), criteria, cursor, limit));
     }
 
     // @Qualifier Example Endpoint 1:
@@ -99,11 +150,158 @@ public class ManagerTodoController {
         return ResponseEntity.ok(todoServiceInMemory.getAllTodos());
     }
 
+    // @AuthenticationPrincipal Explanation:
+    // Injects the principal placed in the SecurityContext by JwtAuthenticationFilter
+    // AuthenticatedUser carries the userId from the verified token, so every database endpoint
+    // below is scoped to the caller's own todos without looking the user up first
+
     // @Qualifier Example Endpoint 2:
     // Using TodoServicePostgreSQL (database-backed storage)
+    // Keyset pagination: pass the nextCursor of the previous response to get the next page
+    // URL pattern: /api/v1/todo/all/database?completed=true&priority=high&cursor=...&limit=50
+    // Conditional GET: the response carries a strong ETag (the caller's list version); a request
+    // whose If-None-Match still matches gets 304 Not Modified before any query or serialization
+    // The priority and cursor are validated first: an invalid request is a 400 whatever its ETag
+    // (checkNotModified sets the status and headers, returning null tells Spring to send no body)
+    // Cache-Control no-cache + private: clients may keep the page but must revalidate every time
     @GetMapping("/all/database")
-    public ResponseEntity<Object> getAllTodosFromDatabase() {
-        return ResponseEntity.ok(todoServicePostgreSQL.getAllTodos());
+    public ResponseEntity<TodoPage> getAllTodosFromDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        TodoSearchCriteria.priorityOf(priority);
+        TodoCursor.decode(cursor);
+        String etag = todoServicePostgreSQL.getTodosETag(user.userId());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        TodoPage page = todoServicePostgreSQL.getTodosPageByUserId(
+                user.userId().toString(), completed, priority, cursor, limit);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(page);
+    }
+
+    // Delta sync: only the caller's todos changed (and IDs deleted) since the cursor
+    // First call without "since", then pass nextCursor back; repeat while hasMore is true
+    // URL pattern: /api/v1/todo/changes/database?since=...&limit=200
+    @GetMapping("/changes/database")
+    public ResponseEntity<TodoChanges> getTodoChangesFromDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(todoServicePostgreSQL.getTodoChanges(user.userId(), since, limit));
+    }
+
+    // Live push of the caller's todo changes (created / updated / deleted / imported events)
+    // Covers both the database and the in-memory backend; the "source" field tells them apart
+    // A client that falls behind is disconnected: on reconnect it catches up via /changes/database
+    // URL pattern: /api/v1/todo/events
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTodoEvents(@AuthenticationPrincipal AuthenticatedUser user) {
+        return todoEventStreams.subscribe(user.userId().toString());
+    }
+
+    // Open / completed counts per priority for the caller's dashboard
+    // URL pattern: /api/v1/todo/stats/database
+    @GetMapping("/stats/database")
+    public ResponseEntity<TodoStats> getTodoStatsFromDatabase(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(todoServicePostgreSQL.getTodoStats(user.userId()));
+    }
+
+    @GetMapping("/database/{id}")
+    public ResponseEntity<TodoView> getTodoFromDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable UUID id) {
+        return ResponseEntity.ok(todoServicePostgreSQL.getTodoByUUID(id, user.userId()));
+    }
+
+    @PostMapping("/database")
+    public ResponseEntity<Object> createTodoInDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @Valid @RequestBody TodoRecord todoRecord) {
+        Object created = todoServicePostgreSQL.createTodo(todoRecord.withUserId(user.userId().toString()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PutMapping("/database/{id}")
+    public ResponseEntity<TodoView> updateTodoInDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable UUID id,
+            @Valid @RequestBody TodoRecord todoRecord) {
+        return ResponseEntity.ok(todoServicePostgreSQL.updateTodoByUUID(id, user.userId(), todoRecord));
+    }
+
+    @DeleteMapping("/database/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteTodoFromDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable UUID id) {
+        todoServicePostgreSQL.deleteTodoByUUID(id, user.userId());
+    }
+
+    // Batch Endpoints:
+    // Up to TodoBatchResponse.MAX_ITEMS todos of the caller per request, written in one transaction
+    // with JDBC batching; the response lists one result per item, in request order
+    // URL pattern: POST /api/v1/todo/database/batch (array of todos)
+    @PostMapping("/database/batch")
+    public ResponseEntity<TodoBatchResponse> createTodosInDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<TodoRecord> todoRecords) {
+        return ResponseEntity.ok(todoServicePostgreSQL.createTodos(user.userId().toString(), todoRecords));
+    }
+
+    // URL pattern: PUT /api/v1/todo/database/batch (array of {id, name, priority, completed})
+    @PutMapping("/database/batch")
+    public ResponseEntity<TodoBatchResponse> updateTodosInDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<TodoBatchUpdate> updates) {
+        return ResponseEntity.ok(todoServicePostgreSQL.updateTodos(user.userId().toString(), updates));
+    }
+
+    // URL pattern: POST /api/v1/todo/database/batch/delete (array of todo IDs)
+    @PostMapping("/database/batch/delete")
+    public ResponseEntity<TodoBatchResponse> deleteTodosFromDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<String> ids) {
+        return ResponseEntity.ok(todoServicePostgreSQL.deleteTodos(user.userId().toString(), ids));
+    }
+
+    // Bulk Import Endpoint:
+    // The raw request body (not multipart) is streamed into PostgreSQL with COPY, so uploads of
+    // any size are imported with constant memory; all imported todos belong to the caller
+    // Content-Type text/csv        → header row with name,priority[,completed][,user_id]
+    // Content-Type application/x-ndjson → one {"name":..,"priority":..,"completed":..} per line
+    // URL pattern: POST /api/v1/todo/import/database
+    // e.g. curl -H "Authorization: Bearer $TOKEN" -H "Content-Type: text/csv" --data-binary @todos.csv ...
+    @PostMapping(value = "/import/database", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<TodoImportResult> importTodosToDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) throws IOException, SQLException {
+        TodoImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(
+                MediaType.parseMediaType(request.getContentType()))
+                        ? TodoImportFormat.NDJSON
+                        : TodoImportFormat.CSV;
+        return ResponseEntity.ok(todoImportService.importTodos(user.userId(), format, request.getInputStream()));
+    }
+
+    // StreamingResponseBody Example:
+    // The body is written on an async thread after the handler returns, directly to the response
+    // output stream, so the export never builds the full list in memory
+    // Output is newline-delimited JSON (one todo object per line) with the caller's todos
+    // URL pattern: /api/v1/todo/export/database
+    @GetMapping(value = "/export/database", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTodosFromDatabase(
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        String userId = user.userId().toString();
+        StreamingResponseBody body = out -> todoServicePostgreSQL.exportTodos(userId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     // @ResponseStatus Example 1:
@@ -0,0 +1,81 @@
+package com.managertasks.api.controller;
+
+import com.managertasks.api.dto.response.RecordingStatus;
+import com.managertasks.api.observability.jfr.JfrRecordingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * @RestController Lifecycle:
+ *                 1. CLASS DETECTION: Spring detects @RestController during
+ *                 component scan
+ *                 2. BEAN REGISTRATION: Class is registered as a Spring bean
+ *                 3. INSTANTIATION: ProfilingController instance is created and
+ *                 dependencies (@Autowired JfrRecordingService) are injected
+ *                 4. REQUEST MAPPING: @RequestMapping("/api/v1/admin/profiling/jfr")
+ *                 registers URL base path
+ *                 5. SECURITY: /api/v1/admin/** requires ROLE_ADMIN (SecurityConfig),
+ *                 granted to the users listed in security.admin-user-ids
+ *                 6. READY: Starts, stops and dumps the on-demand JFR recording
+ */
+@RestController
+@RequestMapping("/api/v1/admin/profiling/jfr")
+public class ProfilingController {
+
+    // Injected during step 3 (INSTANTIATION)
+    @Autowired
+    private JfrRecordingService jfrRecordingService;
+
+    // URL pattern: POST /api/v1/admin/profiling/jfr/start?settings=profile&durationSeconds=300
+    // settings: default (low overhead) or profile (more detail); durationSeconds defaults to the cap
+    @PostMapping("/start")
+    public ResponseEntity<RecordingStatus> start(
+            @RequestParam(required = false) String settings,
+            @RequestParam(required = false) Long durationSeconds) {
+        return ResponseEntity.ok(jfrRecordingService.start(settings, durationSeconds));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<RecordingStatus> stop() {
+        return ResponseEntity.ok(jfrRecordingService.stop());
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<RecordingStatus> status() {
+        return ResponseEntity.ok(jfrRecordingService.status());
+    }
+
+    // Downloads what was recorded so far as a .jfr file (open in JDK Mission Control or `jfr print`)
+    // The dump is written to a temporary file first, streamed on an async thread, then deleted
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dump() throws IOException {
+        Path file = jfrRecordingService.dump();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        String filename = "managertasks-" + Instant.now().truncatedTo(ChronoUnit.SECONDS)
+                .toString().replace(":", "") + ".jfr";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.managertasks.api.dto.request;
+
+// TodoBatchUpdate - One item of a batch update: the todo ID plus the same fields as TodoRecord
+// Items are validated one by one in the service, so a bad item is reported instead of
+// rejecting the whole batch
+public record TodoBatchUpdate(
+        String id,
+
+        String name,
+
+        String priority,
+
+        Boolean completed) {
+
+    public TodoRecord toRecord() {
+        return new TodoRecord(name, priority, completed, null);
+    }
+
+}
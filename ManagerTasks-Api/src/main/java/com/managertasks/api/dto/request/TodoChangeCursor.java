@@ -0,0 +1,51 @@
+package com.managertasks.api.dto.request;
+
+import com.managertasks.api.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// TodoChangeCursor - Delta-sync position over (changeXid, id), plus the time it was issued
+// changeXid / id are the last change returned (see the change_xid migration): the next query reads
+// "WHERE (change_xid, id) > (:changeXid, :id)" below the current commit watermark
+// issuedAt is only used to tell whether tombstones the client still needs may have been purged
+// Cursors of the former (updatedAt, id) format decode to LEGACY, whose issuedAt forces a full resync
+public record TodoChangeCursor(long changeXid, String id, Instant issuedAt) {
+
+    public static final TodoChangeCursor FIRST = new TodoChangeCursor(0L, "00000000-0000-0000-0000-000000000000",
+            Instant.EPOCH);
+    public static final TodoChangeCursor LEGACY = FIRST;
+
+    private static final String PREFIX = "x";
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = PREFIX + changeXid + SEPARATOR + issuedAt.toEpochMilli() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing cursor (first sync)
+    public static TodoChangeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                // Throws InvalidCursorException unless it is a well-formed cursor of the old format
+                TodoCursor.decode(cursor);
+                return LEGACY;
+            }
+            String[] parts = raw.substring(PREFIX.length()).split(SEPARATOR, 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new TodoChangeCursor(Long.parseLong(parts[0]), parts[2],
+                    Instant.ofEpochMilli(Long.parseLong(parts[1])));
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            throw new InvalidCursorException("Invalid cursor", ex);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.managertasks.api.dto.request;
+
+import com.managertasks.api.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// TodoCursor - Keyset position over (createdAt, id)
+// Clients receive it as an opaque Base64 string (nextCursor) and send it back unchanged
+// to fetch the following page. The position is the last row of the previous page, so the
+// next query only needs "WHERE (created_at, id) > (:createdAt, :id)" instead of an OFFSET.
+public record TodoCursor(Instant createdAt, String id) {
+
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + SEPARATOR + createdAt.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing cursor (first page)
+    public static TodoCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new TodoCursor(createdAt, parts[2]);
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            throw new InvalidCursorException("Invalid cursor", ex);
+        }
+    }
+
+}
@@ -1,13 +1,50 @@
 package com.managertasks.api.dto.request;
 
+import com.managertasks.api.entity.PriorityEnum;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 public record TodoRecord(
-        @NotBlank(message = "Name is required") String name,
+        @NotBlank(message = "Name is required")
+        @Size(max = TodoRecord.MAX_NAME_LENGTH, message = "Name must not be longer than 255 characters")
+        String name,
 
-        @NotBlank(message = "Priority is required") String priority,
+        // Checked here so an unknown priority is a 400, never a PriorityEnum.valueOf failure later
+        @NotBlank(message = "Priority is required")
+        @Pattern(regexp = TodoRecord.PRIORITY_PATTERN, message = "Priority must be one of low, medium, high")
+        String priority,
 
         Boolean completed,
 
-        @NotBlank(message = "User ID is required") String userId) {
+        // Optional in API requests: database endpoints always use the authenticated user's ID
+        String userId) {
+
+    public static final int MAX_NAME_LENGTH = 255;
+    public static final String PRIORITY_PATTERN = "low|medium|high";
+
+    public TodoRecord withUserId(String userId) {
+        return new TodoRecord(name, priority, completed, userId);
+    }
+
+    // Same rules as the bean validation annotations plus the priority and column length checks,
+    // for batch items that are validated one at a time; returns null when the record is valid
+    public String validationError() {
+        if (name == null || name.isBlank()) {
+            return "Name is required";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "Name must not be longer than 255 characters";
+        }
+        if (priority == null || priority.isBlank()) {
+            return "Priority is required";
+        }
+        try {
+            PriorityEnum.valueOf(priority);
+        } catch (IllegalArgumentException ex) {
+            return "Unknown priority: " + priority;
+        }
+        return null;
+    }
+
 }
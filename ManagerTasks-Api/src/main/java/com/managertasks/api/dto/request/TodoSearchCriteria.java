@@ -0,0 +1,66 @@
+package com.managertasks.api.dto.request;
+
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.exception.InvalidSearchException;
+
+import java.time.Instant;
+import java.util.Locale;
+
+// TodoSearchCriteria - Optional filters of /search/list, every null field means "no filter"
+// completed: from status=completed|pending
+// text: case-insensitive substring of the name
+// Date ranges: "from" is inclusive, "to" is exclusive
+public record TodoSearchCriteria(
+        Boolean completed,
+        PriorityEnum priority,
+        String text,
+        Instant createdFrom,
+        Instant createdTo,
+        Instant updatedFrom,
+        Instant updatedTo) {
+
+    public static final int MAX_TEXT_LENGTH = 100;
+
+    // Builds the criteria from raw request parameters, rejecting unknown values with a 400
+    public static TodoSearchCriteria of(String status, String priority, String text,
+            Instant createdFrom, Instant createdTo, Instant updatedFrom, Instant updatedTo) {
+        String trimmed = text == null || text.isBlank() ? null : text.strip();
+        if (trimmed != null && trimmed.length() > MAX_TEXT_LENGTH) {
+            throw new InvalidSearchException("Search text must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        checkRange("created", createdFrom, createdTo);
+        checkRange("updated", updatedFrom, updatedTo);
+        return new TodoSearchCriteria(completedOf(status), priorityOf(priority), trimmed,
+                createdFrom, createdTo, updatedFrom, updatedTo);
+    }
+
+    private static Boolean completedOf(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        return switch (status.strip().toLowerCase(Locale.ROOT)) {
+            case "completed" -> Boolean.TRUE;
+            case "pending" -> Boolean.FALSE;
+            default -> throw new InvalidSearchException("Invalid status: use completed or pending");
+        };
+    }
+
+    // Also used by the listing filters: an unknown priority is a 400, null/blank means no filter
+    public static PriorityEnum priorityOf(String priority) {
+        if (priority == null || priority.isBlank()) {
+            return null;
+        }
+        try {
+            return PriorityEnum.valueOf(priority.strip().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidSearchException("Invalid priority: use low, medium or high", ex);
+        }
+    }
+
+    private static void checkRange(String field, Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidSearchException(field + "From must be before " + field + "To");
+        }
+    }
+
+}
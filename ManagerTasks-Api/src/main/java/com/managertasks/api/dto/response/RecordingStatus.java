@@ -0,0 +1,20 @@
+package com.managertasks.api.dto.response;
+
+import java.time.Instant;
+
+// RecordingStatus - State of the on-demand JFR recording (see JfrRecordingService)
+// state is idle (no recording yet), running or stopped (stopped recordings can still be dumped)
+// settings, startedAt, durationSeconds and sizeBytes are null while idle
+public record RecordingStatus(
+    String state,
+    String settings,
+    Instant startedAt,
+    Long durationSeconds,
+    Long sizeBytes
+) {
+
+    public static RecordingStatus idle() {
+        return new RecordingStatus("idle", null, null, null, null);
+    }
+
+}
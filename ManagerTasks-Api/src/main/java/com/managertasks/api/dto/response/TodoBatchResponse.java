@@ -0,0 +1,31 @@
+package com.managertasks.api.dto.response;
+
+import com.managertasks.api.exception.InvalidBatchException;
+
+import java.util.List;
+
+// TodoBatchResponse - Per-item results of a batch request, in request order, plus totals
+public record TodoBatchResponse(
+    List<TodoBatchResult> results,
+    int succeeded,
+    int failed
+) {
+
+    public static final int MAX_ITEMS = 1000;
+
+    public static TodoBatchResponse of(List<TodoBatchResult> results) {
+        int succeeded = (int) results.stream().filter(TodoBatchResult::succeeded).count();
+        return new TodoBatchResponse(results, succeeded, results.size() - succeeded);
+    }
+
+    // Rejects empty or oversized batches before any item is processed
+    public static void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new InvalidBatchException("Batch must not contain more than " + MAX_ITEMS + " items");
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.managertasks.api.dto.response;
+
+// TodoBatchResult - Outcome of one item of a batch request
+// index is the item's position in the request array, todo is the stored todo (null for deletes
+// and failures), error explains NOT_FOUND / INVALID results
+public record TodoBatchResult(
+    int index,
+    String id,
+    Status status,
+    Object todo,
+    String error
+) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID
+    }
+
+    public static TodoBatchResult of(int index, String id, Status status, Object todo) {
+        return new TodoBatchResult(index, id, status, todo, null);
+    }
+
+    public static TodoBatchResult notFound(int index, String id) {
+        return new TodoBatchResult(index, id, Status.NOT_FOUND, null, "Todo not found with ID: " + id);
+    }
+
+    public static TodoBatchResult invalid(int index, String id, String error) {
+        return new TodoBatchResult(index, id, Status.INVALID, null, error);
+    }
+
+    public boolean succeeded() {
+        return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+    }
+
+}
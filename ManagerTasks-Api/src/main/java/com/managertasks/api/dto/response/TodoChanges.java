@@ -0,0 +1,22 @@
+package com.managertasks.api.dto.response;
+
+import java.util.List;
+
+// TodoChanges - One page of a delta sync
+// changed: todos created or updated since the cursor, deleted: IDs of todos deleted since then
+// nextCursor is passed back as "since" on the next call; hasMore tells the client to call again
+// right away; fullResync means the cursor is older than the tombstone retention, so the client
+// must drop its copy and sync again without a cursor
+public record TodoChanges(
+    List<TodoView> changed,
+    List<String> deleted,
+    String nextCursor,
+    boolean hasMore,
+    boolean fullResync
+) {
+
+    public static TodoChanges resyncRequired() {
+        return new TodoChanges(List.of(), List.of(), null, false, true);
+    }
+
+}
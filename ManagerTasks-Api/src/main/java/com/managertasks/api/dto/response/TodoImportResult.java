@@ -0,0 +1,19 @@
+package com.managertasks.api.dto.response;
+
+import java.util.List;
+
+// TodoImportResult - Outcome of a bulk import
+// rejectedRows lists at most MAX_REPORTED_REJECTIONS rows (with their input line), rejected is
+// the total count, so the report stays small however many rows fail
+public record TodoImportResult(
+    long imported,
+    long rejected,
+    List<RejectedRow> rejectedRows
+) {
+
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+
+    public record RejectedRow(long line, String error) {
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.managertasks.api.dto.response;
+
+import java.util.List;
+
+// TodoPage - One page of a keyset-paginated todo listing
+// nextCursor is null when there are no more rows after this page
+public record TodoPage(
+    List<Object> items,
+    String nextCursor
+) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    // Clamps a client supplied page size to [1, MAX_LIMIT]
+    public static int boundedLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.managertasks.api.dto.response;
+
+import java.util.Map;
+
+// TodoStats - Dashboard counters of one user's todos
+// byPriority always contains every priority (with zero counts when the user has none)
+public record TodoStats(
+    long total,
+    long open,
+    long completed,
+    Map<String, PriorityStats> byPriority
+) {
+
+    public record PriorityStats(long open, long completed) {
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.managertasks.api.dto.response;
+
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.entity.Todo;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// TodoView - Read model of a todo returned by the database endpoints
+// Read queries build it directly from the selected columns (constructor expression in
+// TodoRepository), so no managed Todo entity, lazy User proxy or dirty-checking snapshot is created
+public record TodoView(
+    UUID id,
+    String name,
+    PriorityEnum priority,
+    Boolean completed,
+    UUID userId,
+    Instant createdAt,
+    Instant updatedAt
+) {
+
+    // For write paths, which already hold the saved entity
+    public static TodoView of(Todo todo) {
+        return new TodoView(
+                todo.getId(),
+                todo.getName(),
+                todo.getPriority(),
+                todo.getCompleted(),
+                todo.getUserId(),
+                todo.getCreatedAt(),
+                todo.getUpdatedAt());
+    }
+
+}
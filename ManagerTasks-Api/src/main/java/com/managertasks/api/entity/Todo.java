@@ -18,7 +18,15 @@ import java.util.UUID;
 @Entity
 @Table(name = "todos", indexes = {
         @Index(name = "idx_todos_user_id", columnList = "user_id"),
-        @Index(name = "idx_todos_completed", columnList = "completed")
+        @Index(name = "idx_todos_completed", columnList = "completed"),
+        @Index(name = "idx_todos_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_todos_user_id_created_at_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_todos_user_id_updated_at_id", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_todos_user_id_change_xid_id", columnList = "user_id, change_xid, id"),
+        @Index(name = "idx_todos_user_id_completed_created_at_id", columnList = "user_id, completed, created_at, id"),
+        @Index(name = "idx_todos_user_id_priority_created_at_id", columnList = "user_id, priority, created_at, id"),
+        @Index(name = "idx_todos_user_id_completed_priority_created_at_id",
+                columnList = "user_id, completed, priority, created_at, id")
 })
 public class Todo {
 
@@ -45,6 +53,11 @@ public class Todo {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
+    // ID of the transaction that last wrote the row, set by the database (column default on insert,
+    // trigger on update), read only by the delta-sync queries
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private User user;
@@ -120,6 +133,10 @@ public class Todo {
         this.updatedAt = updatedAt;
     }
 
+    public Long getChangeXid() {
+        return changeXid;
+    }
+
     public UUID getUserId() {
         return userId;
     }
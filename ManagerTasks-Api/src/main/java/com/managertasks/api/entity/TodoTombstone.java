@@ -0,0 +1,54 @@
+package com.managertasks.api.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// TodoTombstone - Marker left behind by a deleted todo, read by the delta-sync endpoint
+// Rows are written by the todos_tombstones_delete trigger (see migrations), never by the
+// application, hence @Immutable: Hibernate treats loaded instances as read-only
+@Entity
+@Immutable
+@Table(name = "todo_tombstones", indexes = {
+        @Index(name = "idx_todo_tombstones_user_id_change_xid", columnList = "user_id, change_xid, todo_id")
+})
+public class TodoTombstone {
+
+    @Id
+    @Column(name = "todo_id")
+    private UUID todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    // ID of the deleting transaction (see Todo.changeXid)
+    @Column(name = "change_xid", nullable = false)
+    private Long changeXid;
+
+    // Constructors
+    public TodoTombstone() {
+    }
+
+    // Getters
+    public UUID getTodoId() {
+        return todoId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public Long getChangeXid() {
+        return changeXid;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.managertasks.api.exception;
+
+public class InvalidBatchException extends RuntimeException {
+
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+
+    public InvalidBatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
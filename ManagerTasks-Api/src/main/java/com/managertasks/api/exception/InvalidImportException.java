@@ -0,0 +1,13 @@
+package com.managertasks.api.exception;
+
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+
+    public InvalidImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
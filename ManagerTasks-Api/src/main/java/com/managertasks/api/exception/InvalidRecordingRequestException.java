@@ -0,0 +1,13 @@
+package com.managertasks.api.exception;
+
+public class InvalidRecordingRequestException extends RuntimeException {
+
+    public InvalidRecordingRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRecordingRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.managertasks.api.exception;
+
+public class InvalidSearchException extends RuntimeException {
+
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+
+    public InvalidSearchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
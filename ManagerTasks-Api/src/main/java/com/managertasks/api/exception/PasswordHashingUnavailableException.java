@@ -0,0 +1,22 @@
+package com.managertasks.api.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    // Seconds the client should wait before retrying (sent as the Retry-After header)
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
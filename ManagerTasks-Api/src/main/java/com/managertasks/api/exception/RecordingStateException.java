@@ -0,0 +1,13 @@
+package com.managertasks.api.exception;
+
+public class RecordingStateException extends RuntimeException {
+
+    public RecordingStateException(String message) {
+        super(message);
+    }
+
+    public RecordingStateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.managertasks.api.exception;
+
+public class TodoNotFoundException extends RuntimeException {
+
+    public TodoNotFoundException(String message) {
+        super(message);
+    }
+
+    public TodoNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
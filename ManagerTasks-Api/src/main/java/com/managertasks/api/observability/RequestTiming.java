@@ -0,0 +1,164 @@
+package com.managertasks.api.observability;
+
+// RequestTiming - Where the time of one sampled request went, phase by phase
+//
+// Collection Explanation:
+// - ServerTimingFilter starts a RequestTiming for a sampled request and binds it to the request
+//   thread; every hook (JWT filter, service proxy, repository listener, body advice) looks it up
+//   with one ThreadLocal read and returns immediately when the request is not sampled
+// - A sampled request allocates this object and its two small arrays, nothing per recorded phase
+// - Phases are accumulated: three repository calls add up in DB with count 3
+// - Hooks running on other threads (async StreamingResponseBody writers) see no RequestTiming
+//   and record nothing
+public final class RequestTiming {
+
+    public enum Phase {
+        JWT("jwt", "JWT verification"),
+        SECURITY("security", "Security filter chain"),
+        SERVICE("service", "Service calls"),
+        DB("db", "Repository calls"),
+        WRITE("write", "Response serialization");
+
+        private final String metricName;
+        private final String description;
+        private final String logField;
+        private final String countLogField;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+            this.logField = "server_timing." + metricName + "_ms";
+            this.countLogField = "server_timing." + metricName + "_count";
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+
+        String logField() {
+            return logField;
+        }
+
+        String countLogField() {
+            return countLogField;
+        }
+    }
+
+    static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private int serviceDepth;
+    private long writeStartNanos;
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // null when the current request is not sampled (or this is not a request thread)
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(phase, elapsedNanos);
+        }
+    }
+
+    void add(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+        counts[phase.ordinal()]++;
+    }
+
+    // Everything between the start of the request and the handler: the filters after
+    // ServerTimingFilter, i.e. the Security filter chain (JWT included)
+    void handlerStarted() {
+        if (counts[Phase.SECURITY.ordinal()] == 0) {
+            add(Phase.SECURITY, System.nanoTime() - startNanos);
+        }
+    }
+
+    // Nested service calls (a service calling another proxied service) count once, outermost only
+    boolean enterService() {
+        return serviceDepth++ == 0;
+    }
+
+    void exitService() {
+        serviceDepth--;
+    }
+
+    void writeStarted() {
+        writeStartNanos = System.nanoTime();
+    }
+
+    // Closes the write phase (if the body was written through a message converter)
+    // and returns the total elapsed time
+    long finish() {
+        long now = System.nanoTime();
+        if (writeStartNanos != 0) {
+            add(Phase.WRITE, now - writeStartNanos);
+        }
+        return now - startNanos;
+    }
+
+    long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    int count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    // Server-Timing header value (https://www.w3.org/TR/server-timing/), durations in milliseconds:
+    //   jwt;dur=0.41;desc="JWT verification", db;dur=3.20;desc="Repository calls (4)", ..., total;dur=9.87
+    // Phases that did not occur are left out
+    String header(long totalNanos) {
+        StringBuilder header = new StringBuilder(256);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metricName).append(";dur=");
+            appendMillis(header, nanos[phase.ordinal()]);
+            header.append(";desc=\"").append(phase.description);
+            if (count > 1) {
+                header.append(" (").append(count).append(')');
+            }
+            header.append("\", ");
+        }
+        header.append("total;dur=");
+        appendMillis(header, totalNanos);
+        return header.toString();
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Milliseconds with two decimals, appended without String.format (no Formatter per call)
+    static void appendMillis(StringBuilder out, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        out.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.managertasks.api.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// ResponseSizeMetricsFilter - Bytes written per response, by endpoint
+//
+// Records http.server.response.size{method, uri, status} (a distribution summary in bytes) for
+// every response, next to the http.server.requests timers Actuator already records
+//
+// Counting Explanation:
+// - The response is wrapped so every byte written through getOutputStream()/getWriter() is counted
+//   on its way to the container; nothing is buffered, so streamed exports and SSE stay streamed
+// - Content-Length cannot be used: streamed and chunked responses never set it
+// - uri is the matched route pattern (/api/v1/todo/database/{id}), never the raw path, so the
+//   number of series stays bounded; requests no handler matched are tagged uri=UNKNOWN
+// - Async requests (StreamingResponseBody, SseEmitter) are recorded when the async request
+//   completes, with everything written on the async thread included
+// - Error pages rendered by the container's error dispatch (after sendError) are not counted
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ResponseSizeMetricsFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "http.server.response.size";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CountingResponse countingResponse = new CountingResponse(response);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            countingResponse.flushWriter();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnComplete(request, countingResponse));
+            } else {
+                record(request, countingResponse);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+            .description("Size of HTTP response bodies")
+            .baseUnit("bytes")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+            .tag("status", Integer.toString(response.getStatus()))
+            .register(meterRegistry)
+            .record(response.bytesWritten());
+    }
+
+    private final class RecordOnComplete implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final CountingResponse response;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private RecordOnComplete(HttpServletRequest request, CountingResponse response) {
+            this.request = request;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (recorded.compareAndSet(false, true)) {
+                record(request, response);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new async cycle replaces the listeners: register again for its completion
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+
+    // Response wrapper counting the bytes of the body, whichever of stream or writer is used
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private final LongAdder bytes = new LongAdder();
+        private CountingOutputStream outputStream;
+        private PrintWriter writer;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytesWritten() {
+            return bytes.sum();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called on this response");
+            }
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), bytes);
+            }
+            return outputStream;
+        }
+
+        // The writer encodes into the counting stream, so bytes (not chars) are counted
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called on this response");
+                }
+                outputStream = new CountingOutputStream(super.getOutputStream(), bytes);
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final LongAdder bytes;
+
+        private CountingOutputStream(ServletOutputStream delegate, LongAdder bytes) {
+            this.delegate = delegate;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            bytes.increment();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            bytes.add(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+    }
+
+}
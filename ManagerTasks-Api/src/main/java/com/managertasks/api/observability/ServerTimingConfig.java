@@ -0,0 +1,107 @@
+package com.managertasks.api.observability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+// ServerTimingConfig - Server-Timing hooks (app.server-timing.enabled=true, see ServerTimingFilter)
+//
+// Each hook records into the RequestTiming of the current thread and does nothing for requests
+// that are not sampled:
+//
+// 1. SECURITY: a handler interceptor marks the moment the request reaches its controller;
+//    everything before it (after ServerTimingFilter) is the Security filter chain
+//
+// 2. SERVICE: every public method of a @Service bean (TodoServicePostgreSQL, AuthServiceImpl, ...)
+//    is wrapped by an interceptor placed in front of the transaction interceptor, so the phase
+//    includes the commit; calls between services count once (outermost call only)
+//
+// 3. DB: a Spring Data RepositoryMethodInvocationListener adds the duration of every repository
+//    method call, including the custom search fragment (the same hook Actuator uses for
+//    spring.data.repository.invocations)
+//
+// JWT is recorded by JwtAuthenticationFilter, WRITE by ServerTimingResponseAdvice
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTiming timing = RequestTiming.current();
+                if (timing != null) {
+                    timing.handlerStarted();
+                }
+                return true;
+            }
+        });
+    }
+
+    // static so the post-processor is registered before the repository factory beans are created
+    // Before initialization: the customizer must be added before the factory builds the repository
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(
+                            invocation -> RequestTiming.record(RequestTiming.Phase.DB,
+                                    invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static ServiceTimingPostProcessor serviceTimingPostProcessor() {
+        return new ServiceTimingPostProcessor();
+    }
+
+    // Adds the SERVICE interceptor to @Service beans: to their existing proxy (@Transactional) in
+    // front of its advisors, otherwise through a new class-based proxy (controllers inject
+    // TodoServicePostgreSQL by class, so an interface proxy would not do)
+    static class ServiceTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        ServiceTimingPostProcessor() {
+            setProxyTargetClass(true);
+            setBeforeExistingAdvisors(true);
+            MethodInterceptor interceptor = invocation -> {
+                RequestTiming timing = RequestTiming.current();
+                if (timing == null) {
+                    return invocation.proceed();
+                }
+                boolean outermost = timing.enterService();
+                long started = System.nanoTime();
+                try {
+                    return invocation.proceed();
+                } finally {
+                    timing.exitService();
+                    if (outermost) {
+                        timing.add(RequestTiming.Phase.SERVICE, System.nanoTime() - started);
+                    }
+                }
+            };
+            this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class, true), interceptor);
+        }
+
+    }
+
+}
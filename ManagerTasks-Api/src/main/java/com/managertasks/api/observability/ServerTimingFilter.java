@@ -0,0 +1,98 @@
+package com.managertasks.api.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// ServerTimingFilter - Per-request phase breakdown for a sample of requests
+// (app.server-timing.enabled=true, app.server-timing.sample-rate between 0 and 1)
+//
+// For a sampled request:
+// 1. A RequestTiming is bound to the request thread before the Security filter chain runs
+// 2. JWT verification, the filters before the handler, service calls, repository calls and
+//    response serialization record into it (see ServerTimingConfig, ServerTimingResponseAdvice)
+// 3. The phases are sent as a Server-Timing response header (visible in browser dev tools and curl -v)
+// 4. One "Server timing" log event carries them as structured fields (server_timing.db_ms, ...)
+//    next to the ECS http/url fields
+//
+// Header Explanation:
+// - Headers can only be set before the body starts, so the header is written when serialization
+//   starts and holds everything up to that point (total = time to first byte); write and the
+//   final total are only in the log event
+// - Phases overlap: service includes db, security includes jwt
+// - Unsampled requests cost one random draw here and one ThreadLocal read per hook
+@Component
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    @Value("${app.server-timing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!sampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.clear();
+            long totalNanos = timing.finish();
+            // Not committed yet: no body was written (204, async response still pending, ...)
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, timing.header(totalNanos));
+            }
+            logTiming(request, response, timing, totalNanos);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void logTiming(HttpServletRequest request, HttpServletResponse response,
+                           RequestTiming timing, long totalNanos) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        LoggingEventBuilder event = log.atInfo()
+            .setMessage("Server timing")
+            .addKeyValue("http.request.method", request.getMethod())
+            .addKeyValue("url.path", request.getRequestURI())
+            .addKeyValue("http.response.status_code", response.getStatus())
+            .addKeyValue("server_timing.total_ms", totalNanos / 1_000_000.0);
+        for (RequestTiming.Phase phase : RequestTiming.PHASES) {
+            int count = timing.count(phase);
+            if (count > 0) {
+                event.addKeyValue(phase.logField(), timing.nanos(phase) / 1_000_000.0);
+                if (count > 1) {
+                    event.addKeyValue(phase.countLogField(), count);
+                }
+            }
+        }
+        event.log();
+    }
+
+}
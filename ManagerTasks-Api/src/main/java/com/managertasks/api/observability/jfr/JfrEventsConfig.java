@@ -0,0 +1,172 @@
+package com.managertasks.api.observability.jfr;
+
+import com.managertasks.api.dto.response.TodoBatchResponse;
+import com.managertasks.api.dto.response.TodoChanges;
+import com.managertasks.api.dto.response.TodoPage;
+import com.managertasks.api.service.TodoService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// JfrEventsConfig - Custom JFR events for the todo service and repository layers
+//
+// Enabled by app.jfr.events.enabled (on by default).
+// Events are only built and committed while a JFR recording is running (JfrRecordingService, or
+// jcmd <pid> JFR.start); otherwise each hook costs one isEnabled() check on an event object that
+// never escapes the interceptor:
+//
+// 1. com.managertasks.TodoServiceOperation: every call into a TodoService implementation
+//    (TodoServicePostgreSQL, TodoServiceInMemory) with the user ID argument and the number of
+//    todos returned or processed
+//
+// 2. com.managertasks.SlowRepositoryCall: Spring Data repository calls over the threshold
+//    (20 ms by default, app.jfr.slow-repository-threshold-ms for recordings started by
+//    JfrRecordingService), with the stack trace of the caller
+//
+// TokenVerification and PasswordHashing events are emitted directly by JwtTokenProvider and
+// AuthServiceImpl
+@Configuration
+@ConditionalOnProperty(name = "app.jfr.events.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrEventsConfig {
+
+    // static so the post-processor is registered before the repository factory beans are created
+    // Before initialization: the customizer must be added before the factory builds the repository
+    // The advice is added to the repository proxy itself, so begin/commit wrap the actual call
+    @Bean
+    public static BeanPostProcessor repositoryCallEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    repositoryCallInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryCallInterceptor(String repository) {
+        return invocation -> {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            try {
+                return invocation.proceed();
+            } catch (Throwable ex) {
+                event.failed = true;
+                throw ex;
+            } finally {
+                event.end();
+                // Below the threshold shouldCommit() is false: the fields are not even filled in
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    @Bean
+    public static TodoServiceEventPostProcessor todoServiceEventPostProcessor() {
+        return new TodoServiceEventPostProcessor();
+    }
+
+    // Adds the event interceptor to TodoService beans: to their existing proxy (@Transactional),
+    // otherwise through a new class-based proxy (controllers inject TodoServicePostgreSQL by class)
+    // Placed in front of the transaction interceptor, so the event includes the commit
+    static class TodoServiceEventPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        // Position of the userId parameter of each service method, -1 when it has none
+        // Parameter names are available because the build compiles with -parameters
+        private static final Map<Method, Integer> USER_ID_INDEX = new ConcurrentHashMap<>();
+
+        TodoServiceEventPostProcessor() {
+            setProxyTargetClass(true);
+            setBeforeExistingAdvisors(true);
+            MethodInterceptor interceptor = invocation -> {
+                TodoServiceEvent event = new TodoServiceEvent();
+                if (!event.isEnabled()) {
+                    return invocation.proceed();
+                }
+                event.begin();
+                Object result = null;
+                try {
+                    result = invocation.proceed();
+                    return result;
+                } catch (Throwable ex) {
+                    event.failed = true;
+                    throw ex;
+                } finally {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        Method method = invocation.getMethod();
+                        event.service = invocation.getThis() != null
+                                ? invocation.getThis().getClass().getSimpleName()
+                                : method.getDeclaringClass().getSimpleName();
+                        event.operation = method.getName();
+                        int userIdIndex = USER_ID_INDEX.computeIfAbsent(method, TodoServiceEventPostProcessor::userIdIndex);
+                        if (userIdIndex >= 0 && invocation.getArguments()[userIdIndex] != null) {
+                            event.userId = invocation.getArguments()[userIdIndex].toString();
+                        }
+                        if (!event.failed) {
+                            event.rowCount = rowCount(result);
+                        }
+                        event.commit();
+                    }
+                }
+            };
+            ComposablePointcut pointcut = new ComposablePointcut(new RootClassFilter(TodoService.class));
+            this.advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        }
+
+        private static int userIdIndex(Method method) {
+            Parameter[] parameters = method.getParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i].getName().equals("userId")) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Todos returned or processed; a single todo counts 1, void and other results -1
+        private static int rowCount(Object result) {
+            if (result == null) {
+                return -1;
+            }
+            if (result instanceof TodoPage page) {
+                return page.items().size();
+            }
+            if (result instanceof TodoBatchResponse batch) {
+                return batch.results().size();
+            }
+            if (result instanceof TodoChanges changes) {
+                return changes.changed().size() + changes.deleted().size();
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            return result instanceof String || result instanceof Number ? -1 : 1;
+        }
+
+    }
+
+}
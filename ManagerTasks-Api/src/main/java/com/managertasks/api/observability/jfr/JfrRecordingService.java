@@ -0,0 +1,175 @@
+package com.managertasks.api.observability.jfr;
+
+import com.managertasks.api.dto.response.RecordingStatus;
+import com.managertasks.api.exception.InvalidRecordingRequestException;
+import com.managertasks.api.exception.RecordingStateException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// JfrRecordingService - One on-demand JDK Flight Recorder recording, driven by ProfilingController
+//
+// Recording Explanation:
+// - start: a new recording with the JDK "default" (low overhead, fine for production) or "profile"
+//   (more detail: allocation and lock events, more frequent sampling) settings, plus the
+//   com.managertasks.* events; it stops itself after the requested duration (capped)
+// - The recording goes to a disk repository bounded by max-age/max-size, so a forgotten recording
+//   cannot fill the disk or the heap
+// - stop: ends the recording but keeps its data for dump until the next start
+// - dump: copies what was recorded so far (running or stopped) to a temporary .jfr file, for
+//   JDK Mission Control or `jfr print --events com.managertasks.SlowRepositoryCall`
+// - Only one recording at a time; starting while one runs is a conflict (409)
+@Component
+public class JfrRecordingService {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final String RECORDING_NAME = "managertasks-on-demand";
+
+    @Value("${app.jfr.recording.max-duration-seconds:3600}")
+    private long maxDurationSeconds;
+
+    @Value("${app.jfr.recording.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${app.jfr.recording.max-size-mb:256}")
+    private long maxSizeMb;
+
+    @Value("${app.jfr.slow-repository-threshold-ms:20}")
+    private long slowRepositoryThresholdMs;
+
+    // Guards recording/settings: start, stop and dump may come from concurrent admin requests
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private String settings;
+
+    public RecordingStatus start(String settingsName, Long durationSeconds) {
+        String name = settingsName == null ? "default" : settingsName.toLowerCase(Locale.ROOT);
+        if (!SETTINGS.contains(name)) {
+            throw new InvalidRecordingRequestException("settings must be one of " + SETTINGS);
+        }
+        long seconds = durationSeconds == null ? maxDurationSeconds : durationSeconds;
+        if (seconds <= 0 || seconds > maxDurationSeconds) {
+            throw new InvalidRecordingRequestException(
+                "durationSeconds must be between 1 and " + maxDurationSeconds);
+        }
+
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new RecordingStateException("A recording is already running");
+            }
+            if (recording != null) {
+                recording.close();
+            }
+
+            Recording newRecording;
+            try {
+                newRecording = new Recording(Configuration.getConfiguration(name));
+            } catch (IOException | ParseException ex) {
+                throw new RecordingStateException("Could not load JFR settings '" + name + "'", ex);
+            }
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+            newRecording.setMaxSize(maxSizeMb * 1024 * 1024);
+            newRecording.setDuration(Duration.ofSeconds(seconds));
+            newRecording.enable(TokenVerificationEvent.class);
+            newRecording.enable(PasswordHashingEvent.class);
+            newRecording.enable(TodoServiceEvent.class);
+            newRecording.enable(RepositoryCallEvent.class)
+                .withThreshold(Duration.ofMillis(slowRepositoryThresholdMs))
+                .withStackTrace();
+            newRecording.start();
+
+            recording = newRecording;
+            settings = name;
+            log.info("JFR recording started with '{}' settings for {}s", name, seconds);
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public RecordingStatus stop() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new RecordingStateException("No recording is running");
+            }
+            recording.stop();
+            log.info("JFR recording stopped");
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public RecordingStatus status() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                return RecordingStatus.idle();
+            }
+            RecordingState state = recording.getState();
+            Duration duration = recording.getDuration();
+            return new RecordingStatus(
+                state == RecordingState.RUNNING ? "running" : "stopped",
+                settings,
+                recording.getStartTime(),
+                duration != null ? duration.toSeconds() : null,
+                recording.getSize());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes the recording to a new temporary file; the caller streams it and deletes it
+    public Path dump() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null) {
+                throw new RecordingStateException("No recording to dump, start one first");
+            }
+            Path file = Files.createTempFile("managertasks-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.managertasks.api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Emitted by AuthServiceImpl around each BCrypt encode/match, queue wait on the hashing pool included
+@Name("com.managertasks.PasswordHashing")
+@Label("Password Hashing")
+@Category({ "ManagerTasks", "Security" })
+@Description("BCrypt encode (signup) or match (login) on the password hashing pool, including the queue wait")
+@StackTrace(false)
+public class PasswordHashingEvent extends Event {
+
+    @Label("Operation")
+    @Description("encode or match")
+    public String operation;
+
+    @Label("Matched")
+    @Description("Whether the password matched (match only)")
+    public boolean matched;
+
+}
@@ -0,0 +1,31 @@
+package com.managertasks.api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Emitted for Spring Data repository calls slower than the threshold (see JfrEventsConfig)
+// The stack trace shows which service path issued the slow query
+@Name("com.managertasks.SlowRepositoryCall")
+@Label("Slow Repository Call")
+@Category({ "ManagerTasks", "Database" })
+@Description("A repository method call (query, save, delete) that took longer than the threshold")
+@Threshold("20 ms")
+@StackTrace(true)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    @Description("The call threw an exception")
+    public boolean failed;
+
+}
@@ -0,0 +1,37 @@
+package com.managertasks.api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Emitted for every call into a TodoService implementation (see JfrEventsConfig)
+@Name("com.managertasks.TodoServiceOperation")
+@Label("Todo Service Operation")
+@Category({ "ManagerTasks", "Todo" })
+@Description("One call into TodoServicePostgreSQL or TodoServiceInMemory")
+@StackTrace(false)
+public class TodoServiceEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Operation")
+    @Description("Service method name")
+    public String operation;
+
+    @Label("User ID")
+    @Description("The userId argument, when the operation has one")
+    public String userId;
+
+    @Label("Row Count")
+    @Description("Todos returned or processed (page items, list size, batch items), -1 when not applicable")
+    public int rowCount = -1;
+
+    @Label("Failed")
+    @Description("The operation threw an exception")
+    public boolean failed;
+
+}
@@ -0,0 +1,26 @@
+package com.managertasks.api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Emitted by JwtTokenProvider.verifyToken for every bearer token it checks
+@Name("com.managertasks.TokenVerification")
+@Label("JWT Verification")
+@Category({ "ManagerTasks", "Security" })
+@Description("Verification of a bearer token: verified-claims cache lookup, then signature and claims parsing on a miss")
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Cached")
+    @Description("Served from the verified-claims cache")
+    public boolean cached;
+
+    @Label("Outcome")
+    @Description("valid, or why the token was rejected (expired, bad_signature, malformed, unsupported, invalid)")
+    public String outcome;
+
+}
@@ -1,12 +1,24 @@
 package com.managertasks.api.repository;
 
+import com.managertasks.api.dto.response.TodoView;
 import com.managertasks.api.entity.PriorityEnum;
 import com.managertasks.api.entity.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 // @Repository Lifecycle:
 // 1. CLASS DETECTION: Spring scans classpath and finds @Repository annotation on interface
@@ -18,7 +30,7 @@ import java.util.UUID;
 // 7. READY: Repository can be injected into services for database operations
 
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, UUID> {
+public interface TodoRepository extends JpaRepository<Todo, UUID>, TodoSearchRepository {
 
     // Find all todos for a specific user
     List<Todo> findByUserId(UUID userId);
@@ -32,4 +44,122 @@ public interface TodoRepository extends JpaRepository<Todo, UUID> {
     // Check if a todo exists for a specific user
     boolean existsByIdAndUserId(UUID id, UUID userId);
 
+    // Find a todo only if it belongs to the given user
+    Optional<Todo> findByIdAndUserId(UUID id, UUID userId);
+
+    // Projection Explanation:
+    // "SELECT new TodoView(...)" is a JPQL constructor expression: Hibernate selects only the listed
+    // columns and calls the record constructor per row, so read paths never create managed Todo
+    // entities (no entity instance, lazy User proxy, or dirty-checking snapshot per row)
+    String SELECT_VIEW = "SELECT new com.managertasks.api.dto.response.TodoView("
+            + "t.id, t.name, t.priority, t.completed, t.userId, t.createdAt, t.updatedAt) FROM Todo t ";
+
+    @Query(SELECT_VIEW + "WHERE t.id = :id AND t.userId = :userId")
+    Optional<TodoView> findViewByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query(SELECT_VIEW + "WHERE t.userId = :userId")
+    List<TodoView> findViewsByUserId(@Param("userId") UUID userId);
+
+    @Query(SELECT_VIEW + "WHERE t.userId = :userId AND t.completed = :completed")
+    List<TodoView> findViewsByUserIdAndCompleted(@Param("userId") UUID userId, @Param("completed") Boolean completed);
+
+    @Query(SELECT_VIEW + "WHERE t.userId = :userId AND t.priority = :priority")
+    List<TodoView> findViewsByUserIdAndPriority(@Param("userId") UUID userId, @Param("priority") PriorityEnum priority);
+
+    // Delete a todo only if it belongs to the given user, in a single statement
+    // Returns the number of deleted rows (0 when the todo does not exist or belongs to someone else)
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id = :id AND t.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Batch lookups: only the given user's todos among the requested IDs (one IN query per chunk)
+    List<Todo> findByIdInAndUserId(Collection<UUID> ids, UUID userId);
+
+    @Query("SELECT t.id FROM Todo t WHERE t.id IN :ids AND t.userId = :userId")
+    List<UUID> findIdsByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id IN :ids AND t.userId = :userId")
+    int deleteByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    // Stats read: at most one counter row per (priority, completed), maintained by the
+    // todo_user_stats triggers, so the cost does not depend on how many todos the user has
+    @Query(value = "SELECT s.priority AS priority, s.completed AS completed, s.todo_count AS todoCount "
+            + "FROM todo_user_stats s WHERE s.user_id = :userId", nativeQuery = true)
+    List<TodoStatRow> findStatsByUserId(@Param("userId") UUID userId);
+
+    // Keyset Pagination Explanation:
+    // Each page starts strictly after the (createdAt, id) of the last row of the previous page
+    // The row-value comparison "(a, b) > (x, y)" is served directly by the composite
+    // (created_at, id) indexes, so every page costs O(limit) no matter how deep the client is
+    // Limit caps the rows fetched from the database (rendered as FETCH FIRST n ROWS ONLY)
+
+    @Query(SELECT_VIEW
+            + "WHERE (t.createdAt, t.id) > (:createdAt, :id) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoView> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @Query(SELECT_VIEW
+            + "WHERE t.userId = :userId AND (t.createdAt, t.id) > (:createdAt, :id) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoView> findPageByUserIdAfter(@Param("userId") UUID userId,
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @Query(SELECT_VIEW
+            + "WHERE t.userId = :userId AND t.completed = :completed "
+            + "AND (t.createdAt, t.id) > (:createdAt, :id) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoView> findPageByUserIdAndCompletedAfter(@Param("userId") UUID userId, @Param("completed") Boolean completed,
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @Query(SELECT_VIEW
+            + "WHERE t.userId = :userId AND t.priority = :priority "
+            + "AND (t.createdAt, t.id) > (:createdAt, :id) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoView> findPageByUserIdAndPriorityAfter(@Param("userId") UUID userId, @Param("priority") PriorityEnum priority,
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @Query(SELECT_VIEW
+            + "WHERE t.userId = :userId AND t.completed = :completed AND t.priority = :priority "
+            + "AND (t.createdAt, t.id) > (:createdAt, :id) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoView> findPageByUserIdAndCompletedAndPriorityAfter(@Param("userId") UUID userId,
+            @Param("completed") Boolean completed, @Param("priority") PriorityEnum priority,
+            @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+
+    // Delta sync: the user's todos changed after (changeXid, id), only those written by transactions
+    // below the commit watermark. Served by the (user_id, change_xid, id) index
+    // Entities rather than TodoView: the caller needs changeXid of the last row for the next cursor
+    @Query("SELECT t FROM Todo t "
+            + "WHERE t.userId = :userId AND (t.changeXid, t.id) > (:changeXid, :id) "
+            + "AND t.changeXid < :watermark "
+            + "ORDER BY t.changeXid ASC, t.id ASC")
+    List<Todo> findChangesByUserIdAfter(@Param("userId") UUID userId,
+            @Param("changeXid") long changeXid, @Param("id") UUID id,
+            @Param("watermark") long watermark, Limit limit);
+
+    // Commit watermark: the oldest transaction still running. Every transaction below it has
+    // committed or aborted, so rows with a smaller change_xid can no longer appear or change
+    // behind a cursor. A long transaction holds the watermark back (its rows and everything after
+    // them wait) instead of being skipped.
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)",
+            nativeQuery = true)
+    long findChangeWatermark();
+
+    // Stream Explanation:
+    // Rows are pulled from an open JDBC cursor instead of being materialized in a List
+    // HINT_FETCH_SIZE makes the PostgreSQL driver fetch 500 rows per round trip (requires an
+    // active transaction, otherwise the driver buffers the whole result set)
+    // Rows are projected to TodoView, so nothing accumulates in the persistence context
+    // The caller must consume the Stream inside @Transactional and close it (try-with-resources)
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + "ORDER BY t.createdAt ASC, t.id ASC")
+    Stream<TodoView> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + "WHERE t.userId = :userId ORDER BY t.createdAt ASC, t.id ASC")
+    Stream<TodoView> streamByUserId(@Param("userId") UUID userId);
+
 }
@@ -0,0 +1,18 @@
+package com.managertasks.api.repository;
+
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoView;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Custom repository fragment: TodoRepository extends this interface and Spring Data routes the
+// calls to TodoSearchRepositoryImpl (found by the "Impl" suffix) instead of deriving a query
+public interface TodoSearchRepository {
+
+    // The user's todos matching every non-null filter, strictly after (afterCreatedAt, afterId)
+    // (both null for the first page), ordered by (createdAt, id), at most limit rows
+    List<TodoView> search(UUID userId, TodoSearchCriteria criteria, Instant afterCreatedAt, UUID afterId, int limit);
+
+}
@@ -0,0 +1,104 @@
+package com.managertasks.api.repository;
+
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoView;
+import com.managertasks.api.entity.Todo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Criteria Query Explanation:
+// The WHERE clause is assembled from the filters that are actually present, so every
+// combination becomes one SQL statement with only the conditions it needs (no "IS NULL OR" tricks
+// that would stop PostgreSQL from using an index)
+// Indexes serving each filter (database/migrations/2026-10-16.04.create-indexes-for-todo-search.sql):
+// - user only / created range:   (user_id, created_at, id)
+// - status:                      (user_id, completed, created_at, id)
+// - priority:                    (user_id, priority, created_at, id)
+// - status + priority:           (user_id, completed, priority, created_at, id)
+// - updated range:               (user_id, updated_at, id)
+// - name text:                   GIN pg_trgm on lower(name), combined with the above by a bitmap AND
+// Every B-tree above ends in (created_at, id), so the keyset condition and ORDER BY are a range scan
+public class TodoSearchRepositoryImpl implements TodoSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TodoView> search(UUID userId, TodoSearchCriteria criteria, Instant afterCreatedAt, UUID afterId,
+            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoView> query = cb.createQuery(TodoView.class);
+        Root<Todo> t = query.from(Todo.class);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("userId"), userId));
+        if (criteria.completed() != null) {
+            where.add(cb.equal(t.get("completed"), criteria.completed()));
+        }
+        if (criteria.priority() != null) {
+            where.add(cb.equal(t.get("priority"), criteria.priority()));
+        }
+        if (criteria.text() != null) {
+            String pattern = "%" + escapeLike(criteria.text().toLowerCase(Locale.ROOT)) + "%";
+            where.add(cb.like(cb.lower(t.get("name")), pattern, LIKE_ESCAPE));
+        }
+        if (criteria.createdFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(t.<Instant>get("createdAt"), criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            where.add(cb.lessThan(t.<Instant>get("createdAt"), criteria.createdTo()));
+        }
+        if (criteria.updatedFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(t.<Instant>get("updatedAt"), criteria.updatedFrom()));
+        }
+        if (criteria.updatedTo() != null) {
+            where.add(cb.lessThan(t.<Instant>get("updatedAt"), criteria.updatedTo()));
+        }
+
+        // Keyset: (created_at, id) > (:createdAt, :id), written as
+        // created_at >= :createdAt AND (created_at > :createdAt OR id > :id)
+        // The first conjunct alone bounds the index range scan; the second drops the ties already sent
+        if (afterCreatedAt != null) {
+            where.add(cb.greaterThanOrEqualTo(t.<Instant>get("createdAt"), afterCreatedAt));
+            where.add(cb.or(
+                    cb.greaterThan(t.<Instant>get("createdAt"), afterCreatedAt),
+                    cb.greaterThan(t.<UUID>get("id"), afterId)));
+        }
+
+        query.select(cb.construct(TodoView.class,
+                        t.get("id"), t.get("name"), t.get("priority"), t.get("completed"),
+                        t.get("userId"), t.get("createdAt"), t.get("updatedAt")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(t.get("createdAt")), cb.asc(t.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // The text is matched literally: % and _ typed by the user are not wildcards
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.managertasks.api.repository;
+
+// Interface projection for one row of todo_user_stats (see TodoRepository.findStatsByUserId)
+// Spring Data backs it with a proxy that reads the aliased columns of the native query
+public interface TodoStatRow {
+
+    String getPriority();
+
+    Boolean getCompleted();
+
+    Long getTodoCount();
+
+}
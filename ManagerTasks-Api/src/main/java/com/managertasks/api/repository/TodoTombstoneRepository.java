@@ -0,0 +1,33 @@
+package com.managertasks.api.repository;
+
+import com.managertasks.api.entity.TodoTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, UUID> {
+
+    // Keyset page of a user's deletions after (changeXid, todoId), only those of transactions below
+    // the commit watermark (TodoRepository.findChangeWatermark)
+    @Query("SELECT t FROM TodoTombstone t "
+            + "WHERE t.userId = :userId AND (t.changeXid, t.todoId) > (:changeXid, :todoId) "
+            + "AND t.changeXid < :watermark "
+            + "ORDER BY t.changeXid ASC, t.todoId ASC")
+    List<TodoTombstone> findPageByUserIdAfter(@Param("userId") UUID userId,
+            @Param("changeXid") long changeXid, @Param("todoId") UUID todoId,
+            @Param("watermark") long watermark, Limit limit);
+
+    // Retention: tombstones older than the cutoff are dropped (clients that old must resync fully)
+    @Modifying
+    @Query("DELETE FROM TodoTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") Instant cutoff);
+
+}
@@ -0,0 +1,21 @@
+package com.managertasks.api.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.UUID;
+
+// AuthenticatedUser - Principal stored in the SecurityContext for JWT-authenticated requests
+// Built directly from the verified token claims (subject = email, "userId" claim), so controllers
+// can scope queries to the caller with @AuthenticationPrincipal, without a UserRepository lookup
+// getName() returns the email, which keeps Authentication.getName() unchanged for logging
+public record AuthenticatedUser(
+    UUID userId,
+    String email
+) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+}
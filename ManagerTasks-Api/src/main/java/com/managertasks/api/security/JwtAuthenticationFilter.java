@@ -1,17 +1,30 @@
 package com.managertasks.api.security;
 
+import com.managertasks.api.observability.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,9 +37,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Users granted ROLE_ADMIN (admin endpoints, see SecurityConfig), matched against the userId
+    // claim of the token; empty by default: nobody is admin
+    // User ids are assigned by the server at sign-up, so unlike an email (sign-up is self-service
+    // and unverified) nobody can register an account that matches an entry of this list
+    @Value("${security.admin-user-ids:}")
+    private List<String> adminUserIds;
+
+    private Set<UUID> adminUserIdSet;
+
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+        List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String AUTHORIZATION_HEADER = "Authorization";
 
+    // auth.jwt.verification: time to verify the bearer token of a request, by outcome
+    // (authenticated, rejected, missing_user_id); why tokens are rejected is in auth.jwt.failures
+    // Requests without a bearer token are not timed
+    private Timer authenticatedTimer;
+    private Timer rejectedTimer;
+    private Timer missingUserIdTimer;
+
+    @PostConstruct
+    public void init() {
+        // An invalid id fails startup instead of silently granting nobody
+        adminUserIdSet = adminUserIds.stream()
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .map(UUID::fromString)
+            .collect(Collectors.toUnmodifiableSet());
+        authenticatedTimer = verificationTimer("authenticated");
+        rejectedTimer = verificationTimer("rejected");
+        missingUserIdTimer = verificationTimer("missing_user_id");
+    }
+
+    private Timer verificationTimer(String outcome) {
+        return Timer.builder("auth.jwt.verification")
+            .description("Time spent verifying bearer tokens")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -36,14 +91,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
                 String token = authHeader.substring(BEARER_PREFIX.length());
 
-                if (jwtTokenProvider.validateToken(token)) {
-                    String email = jwtTokenProvider.getEmailFromToken(token);
+                // Single verification: signature, expiration and claims come from one parse
+                // (or from the verified-claims cache when this token was seen before)
+                // The principal carries the userId claim, so downstream code never has to look the user up
+                long started = System.nanoTime();
+                Optional<VerifiedToken> verifiedToken = jwtTokenProvider.verifyToken(token);
+                Timer timer = verifiedToken.isEmpty() ? rejectedTimer
+                    : verifiedToken.get().userId() == null ? missingUserIdTimer : authenticatedTimer;
+                long elapsed = System.nanoTime() - started;
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+                RequestTiming.record(RequestTiming.Phase.JWT, elapsed);
+
+                verifiedToken
+                    .filter(verified -> verified.userId() != null)
+                    .ifPresent(verified -> {
+                        AuthenticatedUser principal =
+                            new AuthenticatedUser(UUID.fromString(verified.userId()), verified.email());
 
-                    UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
+                        UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(principal, null, authorities(principal.userId()));
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    });
             }
         } catch (Exception ex) {
             logger.error("Could not validate JWT token", ex);
@@ -52,4 +121,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private List<GrantedAuthority> authorities(UUID userId) {
+        if (adminUserIdSet.contains(userId)) {
+            return ADMIN_AUTHORITIES;
+        }
+        return new ArrayList<>();
+    }
+
 }
\ No newline at end of file
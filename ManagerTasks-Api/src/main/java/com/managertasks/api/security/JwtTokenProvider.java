@@ -1,15 +1,31 @@
 package com.managertasks.api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.managertasks.api.observability.jfr.TokenVerificationEvent;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -17,47 +33,132 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    public String generateToken(String email, String userId) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    // Derived once at startup: HMAC key derivation and parser construction are not repeated per request
+    // JwtParser is immutable and thread-safe, so one instance serves every request thread
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Verified-claims cache:
+    // Clients send the same token on every request until it expires, so the HMAC check and JSON
+    // parsing only need to happen the first time a token is seen
+    // Bounded (maximum-size), and each entry expires exactly when its token does (Expiry below)
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    // Why tokens were rejected, exported as auth.jwt.failures{reason=...}
+    public enum FailureReason {
+        EXPIRED,
+        BAD_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID;
+
+        static FailureReason of(Exception ex) {
+            if (ex instanceof ExpiredJwtException) {
+                return EXPIRED;
+            }
+            if (ex instanceof SecurityException) {
+                return BAD_SIGNATURE;
+            }
+            if (ex instanceof MalformedJwtException) {
+                return MALFORMED;
+            }
+            if (ex instanceof UnsupportedJwtException) {
+                return UNSUPPORTED;
+            }
+            return INVALID;
+        }
+    }
+
+    private final LongAdder[] failures = new LongAdder[FailureReason.values().length];
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheSize)
+            .expireAfter(Expiry.<String, VerifiedToken>creating((token, verified) ->
+                Duration.between(Instant.now(), verified.expiresAt())))
+            .recordStats()
+            .build();
+    }
 
+    public String generateToken(String email, String userId) {
         return Jwts.builder()
             .subject(email)
             .claim("userId", userId)
             .issuedAt(new Date())
             .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-            .signWith(key)
+            .signWith(signingKey)
             .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Verifies the token once and returns its claims, or empty when it is invalid or expired
+    // Served from the verified-claims cache when the same token was already verified
+    public Optional<VerifiedToken> verifyToken(String token) {
+        // JFR: one com.managertasks.TokenVerification event per call while a recording is running
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
 
-        return Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload()
-            .getSubject();
-    }
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            event.cached = true;
+            event.outcome = "valid";
+            event.commit();
+            return Optional.of(cached);
+        }
 
-    public boolean validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-            Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token);
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                expiration != null ? expiration.toInstant() : null);
 
-            return true;
-        } catch (MalformedJwtException | ExpiredJwtException | UnsupportedJwtException |
-                 IllegalArgumentException ex) {
-            return false;
+            // Tokens without an expiration are never cached: there is no point at which to evict them
+            if (expiration != null) {
+                verifiedTokens.put(token, verified);
+            }
+            event.outcome = "valid";
+            event.commit();
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException ex) {
+            FailureReason reason = FailureReason.of(ex);
+            failures[reason.ordinal()].increment();
+            event.outcome = reason.name().toLowerCase(Locale.ROOT);
+            event.commit();
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
+    }
+
     public long getTokenExpiration() {
         return jwtExpiration;
     }
 
-}
\ No newline at end of file
+    // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.size... tagged cache=jwt.verified-tokens
+    // and auth.jwt.failures{reason=expired|bad_signature|malformed|unsupported|invalid}
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verified-tokens");
+        for (FailureReason reason : FailureReason.values()) {
+            FunctionCounter.builder("auth.jwt.failures", failures[reason.ordinal()], LongAdder::sum)
+                .description("JWTs rejected by signature, expiration or format checks")
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        }
+    }
+
+}
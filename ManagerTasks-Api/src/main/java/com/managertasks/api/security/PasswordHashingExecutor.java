@@ -0,0 +1,141 @@
+package com.managertasks.api.security;
+
+import com.managertasks.api.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// PasswordHashingExecutor - Dedicated, bounded pool for BCrypt work
+//
+// BCrypt is deliberately slow (~100 ms of CPU per hash at the default strength). Running it on
+// Tomcat request threads lets a burst of logins occupy every request thread and every core.
+// Here it runs on one thread per core with a bounded queue in front:
+//   - at most <cores> hashes run at the same time, so the rest of the API keeps CPU time
+//   - at most <queue-capacity> requests wait; beyond that the submit is rejected immediately and
+//     the caller gets 503 + Retry-After (PasswordHashingUnavailableException) instead of queuing forever
+// Metrics (tagged operation=encode|match, percentiles configured under management.metrics.distribution):
+//   - auth.password.hashing.wait: time spent waiting in the queue for a hashing thread
+//   - auth.password.hashing.duration: time spent computing the hash or the match
+//   - auth.password.hashing.queue.depth (gauge) and auth.password.hashing.rejected (counter)
+@Component
+public class PasswordHashingExecutor {
+
+    // Signup hashes a new password, login matches against the stored hash
+    public enum Operation {
+        ENCODE,
+        MATCH
+    }
+
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password-hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    private final Map<Operation, Timer> waitTimers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Timer> durationTimers = new EnumMap<>(Operation.class);
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> Thread.ofPlatform()
+                        .name("password-hashing-" + threadNumber.incrementAndGet())
+                        .daemon()
+                        .unstarted(runnable),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.prestartAllCoreThreads();
+
+        for (Operation operation : Operation.values()) {
+            String tag = operation.name().toLowerCase(Locale.ROOT);
+            waitTimers.put(operation, Timer.builder("auth.password.hashing.wait")
+                    .description("Time password hashing tasks spent in the queue")
+                    .tag("operation", tag)
+                    .register(meterRegistry));
+            durationTimers.put(operation, Timer.builder("auth.password.hashing.duration")
+                    .description("Time spent computing BCrypt hashes and matches")
+                    .tag("operation", tag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("auth.password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Runs the hashing task on the pool and waits for its result
+    public <T> T execute(Operation operation, Supplier<T> task) {
+        Timer waitTimer = waitTimers.get(operation);
+        Timer durationTimer = durationTimers.get(operation);
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    durationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException(
+                    "Authentication service is busy, please retry later", retryAfterSeconds, ex);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(
+                    "Authentication request was interrupted", retryAfterSeconds, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+}
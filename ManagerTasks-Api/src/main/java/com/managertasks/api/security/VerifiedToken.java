@@ -0,0 +1,11 @@
+package com.managertasks.api.security;
+
+import java.time.Instant;
+
+// VerifiedToken - Claims of a JWT whose signature and expiration have been checked
+public record VerifiedToken(
+    String email,
+    String userId,
+    Instant expiresAt
+) {
+}
@@ -5,13 +5,16 @@ import com.managertasks.api.dto.request.SignUpRequest;
 import com.managertasks.api.dto.response.TokenResponse;
 import com.managertasks.api.entity.User;
 import com.managertasks.api.exception.DuplicateEmailException;
+import com.managertasks.api.observability.jfr.PasswordHashingEvent;
 import com.managertasks.api.repository.UserRepository;
 import com.managertasks.api.security.JwtTokenProvider;
+import com.managertasks.api.security.PasswordHashingExecutor;
+import com.managertasks.api.security.PasswordHashingExecutor.Operation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthServiceImpl implements AuthService {
@@ -25,15 +28,37 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    // BCrypt encode/matches run on this bounded pool instead of the request thread
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    // No method-level transaction, as in login: existsByEmail and save each run in their own
+    // short repository transaction, so no connection is held while the hash is computed
+    // existsByEmail is only a fast path; two concurrent sign-ups with the same email both pass it,
+    // and the unique constraint on users.email rejects the second insert, reported as a duplicate
     @Override
-    @Transactional
     public TokenResponse signUp(SignUpRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             throw new DuplicateEmailException("Email already exists");
         }
 
-        User user = new User(request.name(), request.email(), passwordEncoder.encode(request.password()));
-        User savedUser = userRepository.save(user);
+        PasswordHashingEvent hashingEvent = new PasswordHashingEvent();
+        hashingEvent.begin();
+        hashingEvent.operation = "encode";
+        String passwordHash;
+        try {
+            passwordHash = passwordHashingExecutor.execute(Operation.ENCODE,
+                () -> passwordEncoder.encode(request.password()));
+        } finally {
+            hashingEvent.commit();
+        }
+        User user = new User(request.name(), request.email(), passwordHash);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateEmailException("Email already exists", ex);
+        }
 
         String token = jwtTokenProvider.generateToken(savedUser.getEmail(), savedUser.getId().toString());
 
@@ -44,13 +69,25 @@ public class AuthServiceImpl implements AuthService {
         );
     }
 
+    // No method-level transaction: findByEmail runs in its own short transaction, so no database
+    // connection is held while the password match waits for / runs on the hashing pool
     @Override
-    @Transactional(readOnly = true)
     public TokenResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.email())
             .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        PasswordHashingEvent hashingEvent = new PasswordHashingEvent();
+        hashingEvent.begin();
+        hashingEvent.operation = "match";
+        boolean matches;
+        try {
+            matches = passwordHashingExecutor.execute(Operation.MATCH,
+                () -> passwordEncoder.matches(request.password(), user.getPassword()));
+            hashingEvent.matched = matches;
+        } finally {
+            hashingEvent.commit();
+        }
+        if (!matches) {
             throw new BadCredentialsException("Invalid email or password");
         }
 
@@ -0,0 +1,205 @@
+package com.managertasks.api.service;
+
+import com.managertasks.api.dto.response.TodoImportResult;
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.exception.InvalidImportException;
+import com.managertasks.api.repository.UserRepository;
+import com.managertasks.api.service.event.TodoChangedEvent;
+import com.managertasks.api.service.importer.TodoImportFormat;
+import com.managertasks.api.service.importer.TodoImportReader;
+import com.managertasks.api.service.importer.TodoImportRow;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// TodoImportService - Bulk import of todos with PostgreSQL COPY
+//
+// COPY Explanation:
+// COPY ... FROM STDIN streams rows to the server in the COPY wire format and inserts them
+// without per-row statements, round trips or Hibernate entities; it is the fastest way to load
+// many rows into PostgreSQL
+// Lifecycle of one import:
+// 1) The upload is read row by row (TodoImportReader) straight from the request body
+// 2) Each row is validated (name, PriorityEnum, completed, owner); bad rows are only counted
+//    and reported, they never reach the database
+// 3) Valid rows are encoded as CSV lines into a small buffer that is handed to CopyIn whenever
+//    it fills up, so memory stays constant for any upload size
+//    created_at / updated_at are not part of the COPY: the column defaults (CURRENT_TIMESTAMP,
+//    the database clock in the UTC session zone set by connection-init-sql) fill them in, in the
+//    same zone as the UTC Instants the entities write and the tombstone trigger's LOCALTIMESTAMP
+// 4) endCopy() finishes the COPY; the surrounding @Transactional commits it (or rolls back
+//    every row if anything fails on the database side)
+@Service
+public class TodoImportService {
+
+    private static final String COPY_SQL =
+            "COPY todos (id, name, priority, completed, user_id) FROM STDIN WITH (FORMAT csv)";
+
+    // Bytes collected before each writeToCopy call
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Rows are imported for userId only: a row may leave user_id empty or repeat the caller's ID
+    @Transactional
+    public TodoImportResult importTodos(UUID userId, TodoImportFormat format, InputStream in)
+            throws IOException, SQLException {
+        if (!userRepository.existsById(userId)) {
+            throw new InvalidImportException("Unknown user: " + userId);
+        }
+
+        TodoImportReader reader = new TodoImportReader(in, format, objectMapper);
+        List<TodoImportResult.RejectedRow> rejectedRows = new ArrayList<>();
+        long rejected = 0;
+
+        // The transaction's connection: COPY runs in the same transaction as the JPA work
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                CopyBuffer buffer = new CopyBuffer(copyIn);
+                String owner = userId.toString();
+
+                TodoImportRow row;
+                while ((row = reader.next()) != null) {
+                    String error = row.error() != null ? row.error() : validate(row, owner);
+                    if (error != null) {
+                        if (rejectedRows.size() < TodoImportResult.MAX_REPORTED_REJECTIONS) {
+                            rejectedRows.add(new TodoImportResult.RejectedRow(row.line(), error));
+                        }
+                        rejected++;
+                        continue;
+                    }
+                    buffer.append(UUID.randomUUID().toString()).append(',')
+                            .appendQuoted(row.name()).append(',')
+                            .append(row.priority()).append(',')
+                            .append(Boolean.toString(isCompleted(row.completed()))).append(',')
+                            .append(owner).append('\n');
+                }
+                buffer.flush();
+                long imported = copyIn.endCopy();
+                // COPY bypasses Hibernate: one IMPORTED event stands for all rows of this import
+                if (imported > 0) {
+                    eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Source.DATABASE,
+                            TodoChangedEvent.Type.IMPORTED, null, owner, null));
+                }
+                return new TodoImportResult(imported, rejected, rejectedRows);
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // Returns the reason the row is rejected, or null when it can be imported
+    private String validate(TodoImportRow row, String owner) {
+        if (row.name() == null || row.name().isBlank()) {
+            return "Name is required";
+        }
+        if (row.name().length() > 255) {
+            return "Name must not be longer than 255 characters";
+        }
+        if (row.name().indexOf('\0') >= 0) {
+            return "Name must not contain NUL characters";
+        }
+        if (row.priority() == null || row.priority().isBlank()) {
+            return "Priority is required";
+        }
+        try {
+            PriorityEnum.valueOf(row.priority());
+        } catch (IllegalArgumentException ex) {
+            return "Unknown priority: " + row.priority();
+        }
+        String completed = row.completed() == null ? "" : row.completed().trim();
+        if (!completed.isEmpty() && !completed.equalsIgnoreCase("true") && !completed.equalsIgnoreCase("false")) {
+            return "completed must be true or false";
+        }
+        if (row.userId() != null && !row.userId().isBlank() && !row.userId().trim().equalsIgnoreCase(owner)) {
+            return "user_id must be empty or the importing user's ID";
+        }
+        return null;
+    }
+
+    private boolean isCompleted(String completed) {
+        return completed != null && completed.trim().toLowerCase(Locale.ROOT).equals("true");
+    }
+
+    // Collects encoded rows and passes them to the COPY stream in COPY_BUFFER_SIZE chunks
+    private static final class CopyBuffer {
+
+        private final CopyIn copyIn;
+        private final StringBuilder text = new StringBuilder(COPY_BUFFER_SIZE);
+
+        private CopyBuffer(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        private CopyBuffer append(String value) {
+            text.append(value);
+            return this;
+        }
+
+        private CopyBuffer append(char value) throws SQLException {
+            text.append(value);
+            if (value == '\n' && text.length() >= COPY_BUFFER_SIZE) {
+                flush();
+            }
+            return this;
+        }
+
+        // CSV quoting: the value is wrapped in quotes and embedded quotes are doubled, so commas
+        // and line breaks in names are preserved
+        private CopyBuffer appendQuoted(String value) {
+            text.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    text.append('"');
+                }
+                text.append(c);
+            }
+            text.append('"');
+            return this;
+        }
+
+        private void flush() throws SQLException {
+            if (text.isEmpty()) {
+                return;
+            }
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            text.setLength(0);
+        }
+
+    }
+
+}
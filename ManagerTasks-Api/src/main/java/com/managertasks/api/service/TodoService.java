@@ -1,23 +1,37 @@
 package com.managertasks.api.service;
 
+import com.managertasks.api.dto.request.TodoBatchUpdate;
 import com.managertasks.api.dto.request.TodoRecord;
+import com.managertasks.api.dto.response.TodoBatchResponse;
+import com.managertasks.api.dto.response.TodoPage;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
+// Operations shared by the in-memory and database backends
+// Lookups, updates and deletes by ID are backend specific (Long IDs in memory, owner-scoped UUIDs
+// in PostgreSQL) and live on the implementations; listings are always paged
 public interface TodoService {
 
     // Create a new todo
     Object createTodo(TodoRecord todoRecord);
 
-    // Get todo by ID
-    Object getTodoById(Long id);
+    // Get one page of todos ordered by (createdAt, id), starting after the given cursor
+    // A null cursor returns the first page, limit is clamped to TodoPage.MAX_LIMIT
+    TodoPage getTodosPage(String cursor, Integer limit);
 
-    // Get all todos
-    List<Object> getAllTodos();
+    // Get one page of a user's todos, optionally filtered by completed status and/or priority
+    TodoPage getTodosPageByUserId(String userId, Boolean completed, String priority, String cursor, Integer limit);
 
-    // Update an existing todo
-    Object updateTodo(Long id, TodoRecord todoRecord);
+    // Write todos as newline-delimited JSON (one todo per line), all todos when userId is null
+    void exportTodos(String userId, OutputStream out) throws IOException;
 
-    // Delete a todo
-    void deleteTodo(Long id);
+    // Batch operations on the given user's todos (at most TodoBatchResponse.MAX_ITEMS items)
+    // Every item gets its own result; invalid or missing items do not stop the rest of the batch
+    TodoBatchResponse createTodos(String userId, List<TodoRecord> todoRecords);
+
+    TodoBatchResponse updateTodos(String userId, List<TodoBatchUpdate> updates);
+
+    TodoBatchResponse deleteTodos(String userId, List<String> ids);
 
 }
@@ -1,70 +1,307 @@
 package com.managertasks.api.service;
 
+import com.managertasks.api.dto.request.TodoBatchUpdate;
+import com.managertasks.api.dto.request.TodoCursor;
 import com.managertasks.api.dto.request.TodoRecord;
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoBatchResponse;
+import com.managertasks.api.dto.response.TodoBatchResult;
+import com.managertasks.api.dto.response.TodoPage;
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.exception.InvalidCursorException;
+import com.managertasks.api.service.inmemory.TodoEntry;
+import com.managertasks.api.service.inmemory.TodoStore;
+import com.managertasks.api.service.inmemory.TodoStorePersistence;
+import com.managertasks.api.service.event.TodoChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
 
 @Service("todoServiceInMemory")
 public class TodoServiceInMemory implements TodoService {
 
-    // In-memory storage for todos
-    private final Map<Long, Map<String, Object>> todoStore = new HashMap<>();
-    private Long idCounter = 1L;
+    // Number of todos read from the store per export step
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
+    // In-memory storage for todos (thread-safe, compact entries, secondary indexes)
+    // Entries are converted to the Map response shape only when they leave the service
+    private final TodoStore todoStore = new TodoStore();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Every write publishes a TodoChangedEvent (there is no transaction, listeners run immediately)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Durability mode (write-ahead log + snapshots), disabled by default
+    @Value("${todo.inmemory.persistence.enabled:false}")
+    private boolean persistenceEnabled;
+
+    @Value("${todo.inmemory.persistence.directory:data/inmemory}")
+    private String persistenceDirectory;
+
+    @Value("${todo.inmemory.persistence.snapshot-interval-ms:300000}")
+    private long snapshotIntervalMs;
+
+    private TodoStorePersistence persistence;
+
+    // @PostConstruct Lifecycle:
+    // 1. Runs once after dependency injection, before the bean serves any request
+    // 2. Recovers the store from the latest snapshot + write-ahead log (when enabled)
+    // 3. Attaches the write-ahead log so every following write is made durable
+    @PostConstruct
+    public void openPersistence() throws IOException {
+        if (persistenceEnabled) {
+            persistence = TodoStorePersistence.open(todoStore, Path.of(persistenceDirectory), snapshotIntervalMs);
+        }
+    }
+
+    // @PreDestroy Lifecycle:
+    // Runs on context shutdown: flushes pending log writes and closes the current segment
+    @PreDestroy
+    public void closePersistence() throws InterruptedException {
+        if (persistence != null) {
+            persistence.close();
+        }
+    }
 
     @Override
     public Object createTodo(TodoRecord todoRecord) {
-        Long todoId = idCounter++;
-
-        Map<String, Object> todo = new HashMap<>();
-        todo.put("id", todoId);
-        todo.put("name", todoRecord.name());
-        todo.put("priority", todoRecord.priority());
-        todo.put("completed", todoRecord.completed() != null ? todoRecord.completed() : false);
-        todo.put("userId", todoRecord.userId());
-        todo.put("createdAt", new Date());
-        todo.put("updatedAt", new Date());
-
-        todoStore.put(todoId, todo);
+        TodoEntry entry = todoStore.insert(
+                todoRecord.name(),
+                PriorityEnum.valueOf(todoRecord.priority()),
+                todoRecord.completed() != null ? todoRecord.completed() : false,
+                todoRecord.userId());
+        Object todo = convertEntryToMap(entry);
+        publish(TodoChangedEvent.Type.CREATED, entry, todo);
         return todo;
     }
 
-    @Override
+    // Lookups, updates and deletes by the store's Long ID (not part of TodoService)
     public Object getTodoById(Long id) {
-        if (!todoStore.containsKey(id)) {
+        TodoEntry entry = todoStore.get(id);
+        if (entry == null) {
             throw new IllegalArgumentException("Todo with ID " + id + " not found");
         }
-        return todoStore.get(id);
+        return convertEntryToMap(entry);
     }
 
-    @Override
+    // Unpaged listing of the whole store, served by /all/inmemory
     public List<Object> getAllTodos() {
-        return new ArrayList<>(todoStore.values());
+        List<Object> todos = new ArrayList<>();
+        for (TodoEntry entry : todoStore.values()) {
+            todos.add(convertEntryToMap(entry));
+        }
+        return todos;
+    }
+
+    @Override
+    public TodoPage getTodosPage(String cursor, Integer limit) {
+        int pageSize = TodoPage.boundedLimit(limit);
+        return toPage(todoStore.findAfter(afterIdOf(TodoCursor.decode(cursor)), pageSize + 1), pageSize);
+    }
+
+    @Override
+    public TodoPage getTodosPageByUserId(String userId, Boolean completed, String priority, String cursor,
+            Integer limit) {
+        int pageSize = TodoPage.boundedLimit(limit);
+        List<TodoEntry> rows = todoStore.findByUserAfter(
+                userId,
+                completed,
+                TodoSearchCriteria.priorityOf(priority),
+                afterIdOf(TodoCursor.decode(cursor)),
+                pageSize + 1);
+        return toPage(rows, pageSize);
     }
 
     @Override
+    public void exportTodos(String userId, OutputStream out) throws IOException {
+        long afterId = 0L;
+        List<TodoEntry> batch;
+        do {
+            batch = userId == null
+                    ? todoStore.findAfter(afterId, EXPORT_BATCH_SIZE)
+                    : todoStore.findByUserAfter(userId, null, null, afterId, EXPORT_BATCH_SIZE);
+            for (TodoEntry entry : batch) {
+                out.write(objectMapper.writeValueAsBytes(convertEntryToMap(entry)));
+                out.write('\n');
+                afterId = entry.id();
+            }
+        } while (batch.size() == EXPORT_BATCH_SIZE);
+        out.flush();
+    }
+
     public Object updateTodo(Long id, TodoRecord todoRecord) {
-        if (!todoStore.containsKey(id)) {
+        TodoStore.Replacement replacement = todoStore.replace(
+                id,
+                todoRecord.name(),
+                PriorityEnum.valueOf(todoRecord.priority()),
+                todoRecord.completed(),
+                todoRecord.userId());
+
+        if (replacement == null) {
             throw new IllegalArgumentException("Todo with ID " + id + " not found");
         }
-
-        Map<String, Object> todo = todoStore.get(id);
-        todo.put("name", todoRecord.name());
-        todo.put("priority", todoRecord.priority());
-        if (todoRecord.completed() != null) {
-            todo.put("completed", todoRecord.completed());
+        TodoEntry previous = replacement.previous();
+        TodoEntry updated = replacement.updated();
+        // A todo moved to another user disappears from the previous owner's view
+        // previous is the version this update replaced, so its owner is the one the todo left
+        if (!Objects.equals(todoStore.userIdOf(previous), todoRecord.userId())) {
+            publish(TodoChangedEvent.Type.DELETED, previous, null);
         }
-        todo.put("userId", todoRecord.userId());
-        todo.put("updatedAt", new Date());
-
+        Object todo = convertEntryToMap(updated);
+        publish(TodoChangedEvent.Type.UPDATED, updated, todo);
         return todo;
     }
 
-    @Override
     public void deleteTodo(Long id) {
-        if (!todoStore.containsKey(id)) {
+        TodoEntry removed = todoStore.remove(id);
+        if (removed == null) {
             throw new IllegalArgumentException("Todo with ID " + id + " not found");
         }
-        todoStore.remove(id);
+        publish(TodoChangedEvent.Type.DELETED, removed, null);
+    }
+
+    // Batch operations: the store has no transactions, so items are applied one at a time and
+    // each result reflects what happened to that item (a later failure does not undo earlier items)
+    // Only todos owned by userId can be updated or deleted
+    @Override
+    public TodoBatchResponse createTodos(String userId, List<TodoRecord> todoRecords) {
+        TodoBatchResponse.checkSize(todoRecords);
+        List<TodoBatchResult> results = new ArrayList<>(todoRecords.size());
+        for (int index = 0; index < todoRecords.size(); index++) {
+            TodoRecord todoRecord = todoRecords.get(index);
+            String error = todoRecord == null ? "Todo is required" : todoRecord.validationError();
+            if (error != null) {
+                results.add(TodoBatchResult.invalid(index, null, error));
+                continue;
+            }
+            TodoEntry entry = todoStore.insert(
+                    todoRecord.name(),
+                    PriorityEnum.valueOf(todoRecord.priority()),
+                    todoRecord.completed() != null ? todoRecord.completed() : false,
+                    userId);
+            Object todo = convertEntryToMap(entry);
+            publish(TodoChangedEvent.Type.CREATED, entry, todo);
+            results.add(TodoBatchResult.of(index, Long.toString(entry.id()), TodoBatchResult.Status.CREATED, todo));
+        }
+        return TodoBatchResponse.of(results);
+    }
+
+    @Override
+    public TodoBatchResponse updateTodos(String userId, List<TodoBatchUpdate> updates) {
+        TodoBatchResponse.checkSize(updates);
+        List<TodoBatchResult> results = new ArrayList<>(updates.size());
+        for (int index = 0; index < updates.size(); index++) {
+            TodoBatchUpdate update = updates.get(index);
+            String error = update == null ? "Todo is required" : update.toRecord().validationError();
+            Long id = error == null ? parseId(update.id()) : null;
+            if (error != null || id == null) {
+                results.add(TodoBatchResult.invalid(index, update == null ? null : update.id(),
+                        error != null ? error : "Invalid todo ID"));
+                continue;
+            }
+            // Ownership is checked and the change applied in one atomic step per todo
+            TodoEntry updated = todoStore.updateIfOwnedBy(
+                    id, userId, update.name(), PriorityEnum.valueOf(update.priority()), update.completed());
+            if (updated == null) {
+                results.add(TodoBatchResult.notFound(index, update.id()));
+                continue;
+            }
+            Object todo = convertEntryToMap(updated);
+            publish(TodoChangedEvent.Type.UPDATED, updated, todo);
+            results.add(TodoBatchResult.of(index, update.id(), TodoBatchResult.Status.UPDATED, todo));
+        }
+        return TodoBatchResponse.of(results);
+    }
+
+    @Override
+    public TodoBatchResponse deleteTodos(String userId, List<String> ids) {
+        TodoBatchResponse.checkSize(ids);
+        List<TodoBatchResult> results = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            Long id = parseId(ids.get(index));
+            TodoEntry removed = id != null ? todoStore.removeIfOwnedBy(id, userId) : null;
+            if (id == null) {
+                results.add(TodoBatchResult.invalid(index, ids.get(index), "Invalid todo ID"));
+            } else if (removed != null) {
+                publish(TodoChangedEvent.Type.DELETED, removed, null);
+                results.add(TodoBatchResult.of(index, ids.get(index), TodoBatchResult.Status.DELETED, null));
+            } else {
+                results.add(TodoBatchResult.notFound(index, ids.get(index)));
+            }
+        }
+        return TodoBatchResponse.of(results);
+    }
+
+    private void publish(TodoChangedEvent.Type type, TodoEntry entry, Object todo) {
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Source.IN_MEMORY, type,
+                Long.toString(entry.id()), todoStore.userIdOf(entry), todo));
+    }
+
+    private Long parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    // IDs are assigned in creation order, so the id alone is a stable keyset position here
+    // Rows are fetched with limit + 1: the extra row only tells us whether another page exists
+    private TodoPage toPage(List<TodoEntry> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<TodoEntry> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<Object> items = new ArrayList<>(pageRows.size());
+        for (TodoEntry entry : pageRows) {
+            items.add(convertEntryToMap(entry));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            TodoEntry last = pageRows.get(pageSize - 1);
+            nextCursor = new TodoCursor(Instant.ofEpochMilli(last.createdAt()), Long.toString(last.id())).encode();
+        }
+        return new TodoPage(items, nextCursor);
+    }
+
+    private long afterIdOf(TodoCursor cursor) {
+        if (cursor == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor.id());
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException("Invalid cursor", ex);
+        }
+    }
+
+    // Helper method to convert a stored entry to Map (for response), same shape as before
+    private Object convertEntryToMap(TodoEntry entry) {
+        Map<String, Object> todo = new HashMap<>();
+        todo.put("id", entry.id());
+        todo.put("name", entry.name());
+        todo.put("priority", entry.priority().name());
+        todo.put("completed", entry.completed());
+        todo.put("userId", todoStore.userIdOf(entry));
+        todo.put("createdAt", new Date(entry.createdAt()));
+        todo.put("updatedAt", new Date(entry.updatedAt()));
+        return todo;
     }
 
 }
@@ -1,16 +1,55 @@
 package com.managertasks.api.service;
 
+import com.managertasks.api.dto.request.TodoBatchUpdate;
+import com.managertasks.api.dto.request.TodoChangeCursor;
+import com.managertasks.api.dto.request.TodoCursor;
 import com.managertasks.api.dto.request.TodoRecord;
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoBatchResponse;
+import com.managertasks.api.dto.response.TodoBatchResult;
+import com.managertasks.api.dto.response.TodoChanges;
+import com.managertasks.api.dto.response.TodoPage;
+import com.managertasks.api.dto.response.TodoStats;
+import com.managertasks.api.dto.response.TodoView;
 import com.managertasks.api.entity.PriorityEnum;
 import com.managertasks.api.entity.Todo;
+import com.managertasks.api.entity.TodoTombstone;
+import com.managertasks.api.exception.InvalidCursorException;
+import com.managertasks.api.exception.TodoNotFoundException;
 import com.managertasks.api.repository.TodoRepository;
+import com.managertasks.api.repository.TodoStatRow;
+import com.managertasks.api.repository.TodoTombstoneRepository;
+import com.managertasks.api.service.cache.TodoPageCache;
+import com.managertasks.api.service.cache.TodoVersions;
+import com.managertasks.api.service.event.TodoChangedEvent;
+import com.managertasks.api.service.search.TodoNameIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 // @Service Lifecycle:
 // 1. CLASS DETECTION: Spring scans classpath and finds @Service annotation
@@ -24,9 +63,48 @@ import java.util.stream.Collectors;
 @Service("todoServicePostgreSQL")
 public class TodoServicePostgreSQL implements TodoService {
 
+    // Position before every row: used as the keyset start when no cursor is given
+    private static final TodoCursor FIRST_PAGE = new TodoCursor(Instant.EPOCH, new UUID(0L, 0L).toString());
+
+    // Number of exported rows between persistence context clears and output flushes
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
+    // Batch chunk size: one JDBC batch per chunk, then the persistence context is flushed and cleared
+    // Kept equal to hibernate.jdbc.batch_size so every flush sends exactly one full batch
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${todo.sync.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
     @Autowired
     private TodoRepository todoRepository;
 
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Per-user page cache in front of the listing queries (see TodoPageCache)
+    @Autowired
+    private TodoPageCache todoPageCache;
+
+    @Autowired
+    private TodoVersions todoVersions;
+
+    @Autowired
+    private TodoNameIndex todoNameIndex;
+
+    // Every write publishes a TodoChangedEvent; listeners such as the page cache react after commit
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // @PersistenceContext injects a transaction-scoped EntityManager proxy
+    // Used here to clear the persistence context while streaming large exports
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // @Transactional Explanation:
     // Manages database transactions for methods (automatic commit/rollback)
     // Lifecycle: 1) Method call detected
@@ -59,70 +137,244 @@ public class TodoServicePostgreSQL implements TodoService {
         // Save to database
         Todo savedTodo = todoRepository.save(todo);
 
-        // Convert back to map for response
-        return convertTodoToMap(savedTodo);
+        // The saved entity is already in memory: build the response view from it
+        TodoView view = TodoView.of(savedTodo);
+        publish(TodoChangedEvent.Type.CREATED, view);
+        return view;
     }
 
-    @Override
+    // Owner-scoped lookup: a todo of another user is reported as not found
     @Transactional(readOnly = true)
-    public Object getTodoById(Long id) {
-        // Note: Interface uses Long, but database uses UUID
-        // This is a simplified implementation - consider refactoring interface
-        throw new UnsupportedOperationException("Use getTodoByUUID instead");
+    public TodoView getTodoByUUID(UUID id, UUID userId) {
+        return todoRepository.findViewByIdAndUserId(id, userId)
+                .orElseThrow(() -> new TodoNotFoundException("Todo not found with ID: " + id));
     }
 
+    @Override
     @Transactional(readOnly = true)
-    public Object getTodoByUUID(UUID id) {
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Todo not found with ID: " + id));
-        return convertTodoToMap(todo);
+    public TodoPage getTodosPage(String cursor, Integer limit) {
+        int pageSize = TodoPage.boundedLimit(limit);
+        TodoCursor position = positionOf(cursor);
+
+        List<TodoView> rows = todoRepository.findPageAfter(
+                position.createdAt(), idOf(position), Limit.of(pageSize + 1));
+        return toPage(rows, pageSize);
     }
 
+    // Served from TodoPageCache when the user's todos have not changed since the page was cached
+    // Deliberately not @Transactional: a cache hit must not open a transaction (and take a pooled
+    // connection); on a miss the single repository query runs in its own read-only transaction
     @Override
+    public TodoPage getTodosPageByUserId(String userId, Boolean completed, String priority, String cursor,
+            Integer limit) {
+        int pageSize = TodoPage.boundedLimit(limit);
+        UUID ownerId = UUID.fromString(userId);
+        // Unknown priorities are rejected (400) before the cache or the database is involved
+        PriorityEnum priorityFilter = TodoSearchCriteria.priorityOf(priority);
+        return todoPageCache.get(ownerId, completed, priorityFilter != null ? priorityFilter.name() : null,
+                cursor, pageSize, () -> loadPageByUserId(ownerId, completed, priorityFilter, cursor, pageSize));
+    }
+
+    // ETag of the user's todo listing: changes with every committed write of the user's todos
+    // Computed from the in-memory version only, so a conditional GET never touches the database
+    public String getTodosETag(UUID userId) {
+        return todoVersions.etag(userId);
+    }
+
+    private TodoPage loadPageByUserId(UUID ownerId, Boolean completed, PriorityEnum priority, String cursor,
+            int pageSize) {
+        TodoCursor position = positionOf(cursor);
+        Instant createdAt = position.createdAt();
+        UUID id = idOf(position);
+        Limit rowLimit = Limit.of(pageSize + 1);
+
+        List<TodoView> rows;
+        if (completed != null && priority != null) {
+            rows = todoRepository.findPageByUserIdAndCompletedAndPriorityAfter(
+                    ownerId, completed, priority, createdAt, id, rowLimit);
+        } else if (completed != null) {
+            rows = todoRepository.findPageByUserIdAndCompletedAfter(ownerId, completed, createdAt, id, rowLimit);
+        } else if (priority != null) {
+            rows = todoRepository.findPageByUserIdAndPriorityAfter(
+                    ownerId, priority, createdAt, id, rowLimit);
+        } else {
+            rows = todoRepository.findPageByUserIdAfter(ownerId, createdAt, id, rowLimit);
+        }
+        return toPage(rows, pageSize);
+    }
+
+    // Search: any combination of status, priority, name text and created/updated ranges,
+    // built into a single Criteria query with the same (createdAt, id) keyset as the listing
+    // Name text searches are answered by the in-process trigram index once it is built
+    // (no database round trip); until then, or when it is disabled, they run in SQL
+    // Not @Transactional: an index hit must not even borrow a connection
+    public TodoPage searchTodos(UUID userId, TodoSearchCriteria criteria, String cursor, Integer limit) {
+        int pageSize = TodoPage.boundedLimit(limit);
+        TodoCursor position = TodoCursor.decode(cursor);
+        Instant afterCreatedAt = position != null ? position.createdAt() : null;
+        UUID afterId = position != null ? idOf(position) : null;
+
+        List<TodoView> rows = criteria.text() != null
+                ? todoNameIndex.search(userId, criteria, afterCreatedAt, afterId, pageSize + 1)
+                : null;
+        if (rows == null) {
+            rows = todoRepository.search(userId, criteria, afterCreatedAt, afterId, pageSize + 1);
+        }
+        return toPage(rows, pageSize);
+    }
+
     @Transactional(readOnly = true)
-    public List<Object> getAllTodos() {
-        return todoRepository.findAll()
-                .stream()
-                .map(this::convertTodoToMap)
-                .collect(Collectors.toList());
+    public List<TodoView> getTodosByUserId(UUID userId) {
+        return todoRepository.findViewsByUserId(userId);
     }
 
     @Transactional(readOnly = true)
-    public List<Object> getTodosByUserId(UUID userId) {
-        return todoRepository.findByUserId(userId)
-                .stream()
-                .map(this::convertTodoToMap)
-                .collect(Collectors.toList());
+    public List<TodoView> getTodosByUserIdAndCompleted(UUID userId, Boolean completed) {
+        return todoRepository.findViewsByUserIdAndCompleted(userId, completed);
     }
 
     @Transactional(readOnly = true)
-    public List<Object> getTodosByUserIdAndCompleted(UUID userId, Boolean completed) {
-        return todoRepository.findByUserIdAndCompleted(userId, completed)
-                .stream()
-                .map(this::convertTodoToMap)
-                .collect(Collectors.toList());
+    public List<TodoView> getTodosByUserIdAndPriority(UUID userId, String priority) {
+        PriorityEnum priorityFilter = TodoSearchCriteria.priorityOf(priority);
+        return priorityFilter != null
+                ? todoRepository.findViewsByUserIdAndPriority(userId, priorityFilter)
+                : todoRepository.findViewsByUserId(userId);
     }
 
+    // Delta Sync Explanation:
+    // Returns what changed for the user after the "since" cursor, in commit order, in pages of limit
+    // 1) Changed todos come from the (user_id, change_xid, id) index, deletions from tombstones;
+    //    change_xid is the ID of the transaction that wrote the row (see the change_xid migration)
+    // 2) Only rows of transactions below the commit watermark are read: all of those have finished,
+    //    so no row can still commit behind the cursor, however long its transaction ran (a COPY
+    //    import, a batch). Rows of transactions still running wait for a later sync.
+    // 3) Both lists are read as keysets after the cursor and merged by (change_xid, id), so a page
+    //    never skips or repeats a change and its size is bounded by limit, not by the size of the list
+    // 4) The cursor (TodoChangeCursor: change_xid + id of the last change returned) is the next "since"
+    // Without a cursor everything is returned as changed and tombstones are skipped (the client has
+    // nothing to delete yet); a cursor issued before the tombstone retention asks for a full resync
+    // Limit: the watermark is cluster-wide, so any long transaction (even on another table) delays
+    // the feed for every user until it ends; it never makes the feed skip a change
     @Transactional(readOnly = true)
-    public List<Object> getTodosByUserIdAndPriority(UUID userId, String priority) {
-        return todoRepository.findByUserIdAndPriority(userId, PriorityEnum.valueOf(priority))
-                .stream()
-                .map(this::convertTodoToMap)
-                .collect(Collectors.toList());
+    public TodoChanges getTodoChanges(UUID userId, String since, Integer limit) {
+        int pageSize = TodoPage.boundedLimit(limit);
+        TodoChangeCursor decoded = TodoChangeCursor.decode(since);
+        TodoChangeCursor position = decoded != null ? decoded : TodoChangeCursor.FIRST;
+        Instant now = Instant.now();
+        if (decoded != null && position.issuedAt().isBefore(now.minus(Duration.ofDays(tombstoneRetentionDays)))) {
+            return TodoChanges.resyncRequired();
+        }
+
+        // Taken before the rows are read: the row queries run on a later snapshot (READ COMMITTED),
+        // which sees every committed transaction below the watermark
+        long watermark = todoRepository.findChangeWatermark();
+        UUID afterId = idOf(position.id());
+        List<Todo> changed = todoRepository.findChangesByUserIdAfter(
+                userId, position.changeXid(), afterId, watermark, Limit.of(pageSize + 1));
+        List<TodoTombstone> tombstones = decoded == null
+                ? List.of()
+                : todoTombstoneRepository.findPageByUserIdAfter(
+                        userId, position.changeXid(), afterId, watermark, Limit.of(pageSize + 1));
+
+        List<TodoView> changedPage = new ArrayList<>();
+        List<String> deletedPage = new ArrayList<>();
+        long lastXid = position.changeXid();
+        String lastId = position.id();
+        int c = 0;
+        int d = 0;
+        while (changedPage.size() + deletedPage.size() < pageSize && (c < changed.size() || d < tombstones.size())) {
+            boolean takeChanged = d >= tombstones.size()
+                    || (c < changed.size() && comparePositions(
+                            changed.get(c).getChangeXid(), changed.get(c).getId(),
+                            tombstones.get(d).getChangeXid(), tombstones.get(d).getTodoId()) < 0);
+            if (takeChanged) {
+                Todo todo = changed.get(c++);
+                changedPage.add(TodoView.of(todo));
+                lastXid = todo.getChangeXid();
+                lastId = todo.getId().toString();
+            } else {
+                TodoTombstone tombstone = tombstones.get(d++);
+                deletedPage.add(tombstone.getTodoId().toString());
+                lastXid = tombstone.getChangeXid();
+                lastId = tombstone.getTodoId().toString();
+            }
+        }
+        boolean hasMore = c < changed.size() || d < tombstones.size();
+        String nextCursor = new TodoChangeCursor(lastXid, lastId, now).encode();
+        return new TodoChanges(changedPage, deletedPage, nextCursor, hasMore, false);
     }
 
-    @Override
+    // Drops tombstones past the retention period (cursors that old get fullResync instead)
+    @Scheduled(initialDelayString = "${todo.sync.tombstone-purge-interval-ms:3600000}",
+            fixedDelayString = "${todo.sync.tombstone-purge-interval-ms:3600000}")
     @Transactional
-    public Object updateTodo(Long id, TodoRecord todoRecord) {
-        // Note: Interface uses Long, but database uses UUID
-        // This is a simplified implementation - consider refactoring interface
-        throw new UnsupportedOperationException("Use updateTodoByUUID instead");
+    public void purgeExpiredTombstones() {
+        todoTombstoneRepository.deleteByDeletedAtBefore(Instant.now().minus(Duration.ofDays(tombstoneRetentionDays)));
     }
 
+    // Same order as PostgreSQL's (bigint, uuid) comparison: the canonical lowercase UUID text
+    // sorts like the unsigned bytes PostgreSQL compares
+    private static int comparePositions(long changeXid, UUID id, long otherChangeXid, UUID otherId) {
+        int byXid = Long.compare(changeXid, otherChangeXid);
+        return byXid != 0 ? byXid : id.toString().compareTo(otherId.toString());
+    }
+
+    // Dashboard counters from todo_user_stats (kept exact by triggers on every write to todos)
+    @Transactional(readOnly = true)
+    public TodoStats getTodoStats(UUID userId) {
+        Map<String, long[]> counts = new LinkedHashMap<>();
+        for (PriorityEnum priority : PriorityEnum.values()) {
+            counts.put(priority.name(), new long[2]);
+        }
+        for (TodoStatRow row : todoRepository.findStatsByUserId(userId)) {
+            long[] priorityCounts = counts.get(row.getPriority());
+            if (priorityCounts != null) {
+                priorityCounts[Boolean.TRUE.equals(row.getCompleted()) ? 1 : 0] += row.getTodoCount();
+            }
+        }
+
+        long open = 0;
+        long completed = 0;
+        Map<String, TodoStats.PriorityStats> byPriority = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : counts.entrySet()) {
+            long[] priorityCounts = entry.getValue();
+            open += priorityCounts[0];
+            completed += priorityCounts[1];
+            byPriority.put(entry.getKey(), new TodoStats.PriorityStats(priorityCounts[0], priorityCounts[1]));
+        }
+        return new TodoStats(open + completed, open, completed, byPriority);
+    }
+
+    // Export Explanation:
+    // Rows come from a server-side cursor (see TodoRepository.streamAll) and are written as soon
+    // as they are read, so nothing but the current batch is ever held in memory
+    // Rows are TodoView projections, which the persistence context does not track, so there is
+    // nothing to clear while streaming; the output is flushed every EXPORT_BATCH_SIZE rows
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTodos(String userId, OutputStream out) throws IOException {
+        try (Stream<TodoView> todos = userId == null
+                ? todoRepository.streamAll()
+                : todoRepository.streamByUserId(UUID.fromString(userId))) {
+            int written = 0;
+            Iterator<TodoView> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+
+                if (++written % EXPORT_BATCH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    // Owner-scoped update: the todo must belong to userId and stays owned by userId
     @Transactional
-    public Object updateTodoByUUID(UUID id, TodoRecord todoRecord) {
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Todo not found with ID: " + id));
+    public TodoView updateTodoByUUID(UUID id, UUID userId, TodoRecord todoRecord) {
+        Todo todo = todoRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new TodoNotFoundException("Todo not found with ID: " + id));
 
         // Update fields from TodoRecord
         todo.setName(todoRecord.name());
@@ -130,40 +382,242 @@ public class TodoServicePostgreSQL implements TodoService {
         if (todoRecord.completed() != null) {
             todo.setCompleted(todoRecord.completed());
         }
-        todo.setUserId(UUID.fromString(todoRecord.userId()));
 
         // Save updated todo
         Todo updatedTodo = todoRepository.save(todo);
 
-        return convertTodoToMap(updatedTodo);
+        TodoView view = TodoView.of(updatedTodo);
+        publish(TodoChangedEvent.Type.UPDATED, view);
+        return view;
+    }
+
+    // Owner-scoped delete: one DELETE ... WHERE id = ? AND user_id = ? statement
+    @Transactional
+    public void deleteTodoByUUID(UUID id, UUID userId) {
+        if (todoRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new TodoNotFoundException("Todo not found with ID: " + id);
+        }
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Source.DATABASE,
+                TodoChangedEvent.Type.DELETED, id.toString(), userId.toString(), null));
+    }
+
+    // Batch Write Explanation:
+    // The whole batch runs in one transaction; entities are persisted/updated in chunks of
+    // batchSize, and each chunk is flushed (Hibernate sends it as a single JDBC batch, which
+    // the driver rewrites into multi-row statements with reWriteBatchedInserts=true) and then
+    // cleared, so the persistence context never holds more than one chunk
+    // Invalid or missing items are reported in their result slot and skipped; a database error
+    // rolls the whole batch back
+    @Override
+    @Transactional
+    public TodoBatchResponse createTodos(String userId, List<TodoRecord> todoRecords) {
+        TodoBatchResponse.checkSize(todoRecords);
+        UUID ownerId = UUID.fromString(userId);
+        TodoBatchResult[] results = new TodoBatchResult[todoRecords.size()];
+        List<Integer> chunk = new ArrayList<>(batchSize);
+        List<Todo> chunkTodos = new ArrayList<>(batchSize);
+
+        for (int index = 0; index < todoRecords.size(); index++) {
+            TodoRecord todoRecord = todoRecords.get(index);
+            String error = todoRecord == null ? "Todo is required" : todoRecord.validationError();
+            if (error != null) {
+                results[index] = TodoBatchResult.invalid(index, null, error);
+                continue;
+            }
+
+            Todo todo = new Todo(todoRecord.name(), PriorityEnum.valueOf(todoRecord.priority()), ownerId);
+            if (todoRecord.completed() != null) {
+                todo.setCompleted(todoRecord.completed());
+            }
+            entityManager.persist(todo);
+            chunk.add(index);
+            chunkTodos.add(todo);
+
+            if (chunk.size() == batchSize) {
+                flushChunk(chunk, chunkTodos, results, TodoBatchResult.Status.CREATED);
+            }
+        }
+        flushChunk(chunk, chunkTodos, results, TodoBatchResult.Status.CREATED);
+        return TodoBatchResponse.of(Arrays.asList(results));
     }
 
+    // Each chunk loads its todos with one IN query, then applies the changes; the dirty entities
+    // are written as one JDBC batch of UPDATE statements on flush
     @Override
     @Transactional
-    public void deleteTodo(Long id) {
-        // Note: Interface uses Long, but database uses UUID
-        // This is a simplified implementation - consider refactoring interface
-        throw new UnsupportedOperationException("Use deleteTodoByUUID instead");
+    public TodoBatchResponse updateTodos(String userId, List<TodoBatchUpdate> updates) {
+        TodoBatchResponse.checkSize(updates);
+        UUID ownerId = UUID.fromString(userId);
+        TodoBatchResult[] results = new TodoBatchResult[updates.size()];
+
+        for (int start = 0; start < updates.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, updates.size());
+            UUID[] ids = new UUID[end - start];
+            for (int index = start; index < end; index++) {
+                TodoBatchUpdate update = updates.get(index);
+                String error = update == null ? "Todo is required" : update.toRecord().validationError();
+                ids[index - start] = error == null ? parseId(update.id()) : null;
+                if (error != null) {
+                    results[index] = TodoBatchResult.invalid(index, update == null ? null : update.id(), error);
+                } else if (ids[index - start] == null) {
+                    results[index] = TodoBatchResult.invalid(index, update.id(), "Invalid todo ID");
+                }
+            }
+
+            List<UUID> lookup = presentIds(ids);
+            Map<UUID, Todo> found = lookup.isEmpty() ? Map.of() : todoRepository
+                    .findByIdInAndUserId(lookup, ownerId)
+                    .stream()
+                    .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+            List<Integer> chunk = new ArrayList<>(ids.length);
+            List<Todo> chunkTodos = new ArrayList<>(ids.length);
+            for (int index = start; index < end; index++) {
+                UUID id = ids[index - start];
+                if (id == null) {
+                    continue;
+                }
+                Todo todo = found.get(id);
+                if (todo == null) {
+                    results[index] = TodoBatchResult.notFound(index, id.toString());
+                    continue;
+                }
+                TodoBatchUpdate update = updates.get(index);
+                todo.setName(update.name());
+                todo.setPriority(PriorityEnum.valueOf(update.priority()));
+                if (update.completed() != null) {
+                    todo.setCompleted(update.completed());
+                }
+                chunk.add(index);
+                chunkTodos.add(todo);
+            }
+            flushChunk(chunk, chunkTodos, results, TodoBatchResult.Status.UPDATED);
+        }
+        return TodoBatchResponse.of(Arrays.asList(results));
     }
 
+    // Deletes need no entities at all: per chunk one query finds which IDs belong to the user
+    // (for the per-item results) and one DELETE ... WHERE id IN (...) removes them
+    @Override
     @Transactional
-    public void deleteTodoByUUID(UUID id) {
-        if (!todoRepository.existsById(id)) {
-            throw new IllegalArgumentException("Todo not found with ID: " + id);
-        }
-        todoRepository.deleteById(id);
-    }
-
-    // Helper method to convert Todo entity to Map (for response)
-    private Object convertTodoToMap(Todo todo) {
-        return java.util.Map.of(
-                "id", todo.getId(),
-                "name", todo.getName(),
-                "priority", todo.getPriority().name(),
-                "completed", todo.getCompleted(),
-                "userId", todo.getUserId(),
-                "createdAt", todo.getCreatedAt(),
-                "updatedAt", todo.getUpdatedAt());
+    public TodoBatchResponse deleteTodos(String userId, List<String> ids) {
+        TodoBatchResponse.checkSize(ids);
+        UUID ownerId = UUID.fromString(userId);
+        TodoBatchResult[] results = new TodoBatchResult[ids.size()];
+
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, ids.size());
+            UUID[] chunkIds = new UUID[end - start];
+            for (int index = start; index < end; index++) {
+                chunkIds[index - start] = parseId(ids.get(index));
+                if (chunkIds[index - start] == null) {
+                    results[index] = TodoBatchResult.invalid(index, ids.get(index), "Invalid todo ID");
+                }
+            }
+
+            List<UUID> lookup = presentIds(chunkIds);
+            Set<UUID> owned = lookup.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(todoRepository.findIdsByIdInAndUserId(lookup, ownerId));
+            if (!owned.isEmpty()) {
+                todoRepository.deleteByIdInAndUserId(owned, ownerId);
+            }
+
+            Set<UUID> deleted = new HashSet<>();
+            for (int index = start; index < end; index++) {
+                UUID id = chunkIds[index - start];
+                if (id == null) {
+                    continue;
+                }
+                // The same ID listed twice is deleted once; the repeat is reported as not found
+                if (owned.contains(id) && deleted.add(id)) {
+                    results[index] = TodoBatchResult.of(index, id.toString(), TodoBatchResult.Status.DELETED, null);
+                    eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Source.DATABASE,
+                            TodoChangedEvent.Type.DELETED, id.toString(), ownerId.toString(), null));
+                } else {
+                    results[index] = TodoBatchResult.notFound(index, id.toString());
+                }
+            }
+        }
+        return TodoBatchResponse.of(Arrays.asList(results));
+    }
+
+    // Sends the pending chunk to the database, records its results (ids and timestamps are only
+    // final after the flush) and detaches the entities
+    private void flushChunk(List<Integer> chunk, List<Todo> chunkTodos, TodoBatchResult[] results,
+            TodoBatchResult.Status status) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        TodoChangedEvent.Type type = status == TodoBatchResult.Status.CREATED
+                ? TodoChangedEvent.Type.CREATED
+                : TodoChangedEvent.Type.UPDATED;
+        for (int i = 0; i < chunk.size(); i++) {
+            TodoView view = TodoView.of(chunkTodos.get(i));
+            results[chunk.get(i)] = TodoBatchResult.of(chunk.get(i), view.id().toString(), status, view);
+            publish(type, view);
+        }
+        entityManager.clear();
+        chunk.clear();
+        chunkTodos.clear();
+    }
+
+    private void publish(TodoChangedEvent.Type type, TodoView view) {
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Source.DATABASE, type,
+                view.id().toString(), view.userId().toString(), view));
+    }
+
+    private UUID parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private List<UUID> presentIds(UUID[] ids) {
+        List<UUID> present = new ArrayList<>(ids.length);
+        for (UUID id : ids) {
+            if (id != null) {
+                present.add(id);
+            }
+        }
+        return present;
+    }
+
+    private TodoCursor positionOf(String cursor) {
+        TodoCursor position = TodoCursor.decode(cursor);
+        return position != null ? position : FIRST_PAGE;
+    }
+
+    private UUID idOf(TodoCursor position) {
+        return idOf(position.id());
+    }
+
+    private UUID idOf(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor", ex);
+        }
+    }
+
+    // Rows are fetched with limit + 1: the extra row only tells us whether another page exists
+    // The views are returned as they are: no per-row conversion before serialization
+    private TodoPage toPage(List<TodoView> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<TodoView> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TodoView last = pageRows.get(pageSize - 1);
+            nextCursor = new TodoCursor(last.createdAt(), last.id().toString()).encode();
+        }
+        return new TodoPage(List.copyOf(pageRows), nextCursor);
     }
 
 }
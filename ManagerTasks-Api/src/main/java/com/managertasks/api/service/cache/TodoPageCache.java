@@ -0,0 +1,74 @@
+package com.managertasks.api.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.managertasks.api.dto.response.TodoPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// TodoPageCache - Read-through cache of per-user todo pages (database backend)
+//
+// Key = (user, user's version, completed filter, priority filter, cursor, limit)
+// Invalidation Explanation:
+// Every user has a version number (TodoVersions); a committed write of that user's todos
+// replaces it with a new, never used before value, so all of the user's cached pages become
+// unreachable at once (and are evicted later by size / time) while other users' pages stay cached
+// The version is read before the page is loaded: a page loaded concurrently with a write is
+// stored under the old version, which the write's commit has already retired (or is about to)
+// Eviction: Caffeine's W-TinyLFU size bound keeps the frequently polled pages, and
+// expire-after-write bounds staleness for changes made outside this application
+@Component
+public class TodoPageCache implements MeterBinder {
+
+    @Value("${todo.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${todo.cache.expire-after-write-ms:60000}")
+    private long expireAfterWriteMs;
+
+    private record PageKey(UUID userId, long version, Boolean completed, String priority, String cursor, int limit) {
+    }
+
+    @Autowired
+    private TodoVersions todoVersions;
+
+    private Cache<PageKey, TodoPage> pages;
+
+    @PostConstruct
+    public void init() {
+        pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+    }
+
+    // Returns the cached page, or loads it with loader and caches it
+    public TodoPage get(UUID userId, Boolean completed, String priority, String cursor, int limit,
+            Supplier<TodoPage> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        PageKey key = new PageKey(userId, todoVersions.current(userId), completed, priority, cursor, limit);
+        return pages.get(key, ignored -> loader.get());
+    }
+
+    // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.load.duration... tagged cache=todo.pages
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, pages, "todo.pages");
+    }
+
+}
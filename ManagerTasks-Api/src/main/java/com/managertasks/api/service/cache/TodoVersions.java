@@ -0,0 +1,58 @@
+package com.managertasks.api.service.cache;
+
+import com.managertasks.api.service.event.TodoChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// TodoVersions - Per-user version of the todo list (database backend)
+//
+// A user's version changes whenever a write to that user's todos commits; it keys the page
+// cache (TodoPageCache) and is the ETag of the listing endpoints
+// Version Explanation:
+// - Versions come from one increasing sequence shared by all users, so a value is never reused
+// - A user with no write since startup is at version 0; only writers get an entry, and entries
+//   are never evicted, so the ETag of an idle user stays the same for the life of the process
+//   (one small map entry per user that wrote since startup)
+// - The sequence restarts with the process, so the ETag also carries the boot time
+// Single-instance assumption: versions are bumped by the commits of this process only. With
+// several API instances behind a load balancer each one would keep serving its old ETag and
+// cached pages after a write on another instance; that deployment needs versions derived from
+// the database instead. Changes made outside the application (manual SQL) are not seen either:
+// the page cache's expire-after-write bounds how long they stay hidden from listings, while the
+// ETag only changes with the next write through the API or a restart
+@Component
+public class TodoVersions {
+
+    private final String bootId = Long.toString(Instant.now().toEpochMilli(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    public long current(UUID userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    // Strong ETag of the user's todo list, e.g. "lx2k9c1a-42"
+    public String etag(UUID userId) {
+        return "\"" + bootId + "-" + current(userId) + "\"";
+    }
+
+    public void bump(UUID userId) {
+        versions.put(userId, sequence.incrementAndGet());
+    }
+
+    // Runs after the writing transaction commits (or right away for non-transactional writes)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.source() == TodoChangedEvent.Source.DATABASE && event.userId() != null) {
+            bump(UUID.fromString(event.userId()));
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.managertasks.api.service.event;
+
+// TodoChangedEvent - Published by the todo services for every write
+//
+// Database writes publish the event inside their transaction; consumers annotated with
+// @TransactionalEventListener see it only after the commit (and never for a rollback).
+// With fallbackExecution = true they also receive events published outside a transaction.
+//
+// todoId and todo are null for IMPORTED, which stands for a bulk import of many rows at once
+public record TodoChangedEvent(
+        Source source,
+        Type type,
+        String todoId,
+        String userId,
+        Object todo) {
+
+    public enum Source {
+        DATABASE,
+        IN_MEMORY
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        IMPORTED
+    }
+
+}
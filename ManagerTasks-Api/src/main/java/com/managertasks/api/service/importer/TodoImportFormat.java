@@ -0,0 +1,9 @@
+package com.managertasks.api.service.importer;
+
+// Supported upload formats for the bulk import
+//   CSV    - header row with at least "name" and "priority" (optional "completed", "user_id")
+//   NDJSON - one JSON object per line with the same fields ("userId" is accepted as well)
+public enum TodoImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,225 @@
+package com.managertasks.api.service.importer;
+
+import com.managertasks.api.exception.InvalidImportException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// TodoImportReader - Streaming row reader for CSV and NDJSON uploads
+//
+// Reads one character at a time from a buffered reader and never holds more than the current
+// row, so memory use does not depend on the size of the upload. A row longer than
+// MAX_ROW_CHARS is consumed to its end and returned as an error row instead of being buffered.
+public class TodoImportReader {
+
+    public static final int MAX_ROW_CHARS = 16 * 1024;
+
+    private final BufferedReader reader;
+    private final TodoImportFormat format;
+    private final ObjectMapper objectMapper;
+
+    // CSV column positions, resolved from the header row
+    private int nameColumn = -1;
+    private int priorityColumn = -1;
+    private int completedColumn = -1;
+    private int userIdColumn = -1;
+
+    private long line = 1;
+    private int peeked = -2;
+
+    public TodoImportReader(InputStream in, TodoImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == TodoImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    // Next row, or null at the end of the input
+    public TodoImportRow next() throws IOException {
+        return format == TodoImportFormat.CSV ? nextCsvRow() : nextJsonRow();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = nextCsvRecord();
+        if (header == null || header.isEmpty()) {
+            throw new InvalidImportException("CSV import must start with a header row");
+        }
+        for (int column = 0; column < header.size(); column++) {
+            switch (header.get(column).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> nameColumn = column;
+                case "priority" -> priorityColumn = column;
+                case "completed" -> completedColumn = column;
+                case "user_id", "userid" -> userIdColumn = column;
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        if (nameColumn < 0 || priorityColumn < 0) {
+            throw new InvalidImportException("CSV header must contain the columns name and priority");
+        }
+    }
+
+    private TodoImportRow nextCsvRow() throws IOException {
+        while (true) {
+            long rowLine = line;
+            List<String> fields = nextCsvRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields == OVERSIZED) {
+                return TodoImportRow.unreadable(rowLine, "Row exceeds " + MAX_ROW_CHARS + " characters");
+            }
+            // Skip blank lines
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return new TodoImportRow(rowLine,
+                    column(fields, nameColumn),
+                    column(fields, priorityColumn),
+                    column(fields, completedColumn),
+                    column(fields, userIdColumn),
+                    null);
+        }
+    }
+
+    private TodoImportRow nextJsonRow() throws IOException {
+        while (true) {
+            long rowLine = line;
+            StringBuilder text = new StringBuilder();
+            boolean oversized = false;
+            int c;
+            while ((c = read()) != -1 && c != '\n') {
+                if (text.length() < MAX_ROW_CHARS) {
+                    text.append((char) c);
+                } else {
+                    oversized = true;
+                }
+            }
+            if (c == '\n') {
+                line++;
+            }
+            if (oversized) {
+                return TodoImportRow.unreadable(rowLine, "Row exceeds " + MAX_ROW_CHARS + " characters");
+            }
+            if (text.toString().isBlank()) {
+                if (c == -1) {
+                    return null;
+                }
+                continue;
+            }
+
+            try {
+                JsonNode node = objectMapper.readTree(text.toString());
+                if (!node.isObject()) {
+                    return TodoImportRow.unreadable(rowLine, "Row is not a JSON object");
+                }
+                return new TodoImportRow(rowLine,
+                        text(node, "name"),
+                        text(node, "priority"),
+                        text(node, "completed"),
+                        node.has("userId") ? text(node, "userId") : text(node, "user_id"),
+                        null);
+            } catch (JacksonException ex) {
+                return TodoImportRow.unreadable(rowLine, "Malformed JSON");
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asString();
+    }
+
+    private static String column(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    // Marker returned by nextCsvRecord for a record longer than MAX_ROW_CHARS
+    private static final List<String> OVERSIZED = List.of();
+
+    // RFC 4180 record: comma separated, fields may be quoted, "" is an escaped quote inside a
+    // quoted field, and quoted fields may span lines; returns null at the end of the input
+    private List<String> nextCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean any = false;
+        int length = 0;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!any) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return length > MAX_ROW_CHARS ? OVERSIZED : fields;
+            }
+            any = true;
+
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        c = '"';
+                    } else {
+                        inQuotes = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                inQuotes = true;
+                continue;
+            } else if (c == ',') {
+                // Separators count towards the limit too: a row of commas alone must not grow fields
+                if (++length <= MAX_ROW_CHARS) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                continue;
+            } else if (c == '\r' && peek() == '\n') {
+                continue;
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return length > MAX_ROW_CHARS ? OVERSIZED : fields;
+            }
+
+            // Past the limit the rest of the record is still parsed (to find its end) but dropped
+            if (++length <= MAX_ROW_CHARS) {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.managertasks.api.service.importer;
+
+// One raw input row, before validation
+// line is the 1-based line where the row starts; error is set when the row could not be parsed
+public record TodoImportRow(
+        long line,
+        String name,
+        String priority,
+        String completed,
+        String userId,
+        String error) {
+
+    public static TodoImportRow unreadable(long line, String error) {
+        return new TodoImportRow(line, null, null, null, null, error);
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.managertasks.api.service.inmemory;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// IdPostingList - Sorted set of todo ids stored as primitive long blocks
+//
+// Structure: the ids are split into blocks of up to BLOCK_SIZE sorted longs, the blocks themselves
+// ordered by their first id. An add or remove shifts at most one block (a few KB), a read binary
+// searches the block firsts and then one block, so every operation is O(log n + BLOCK_SIZE).
+// Ids are assigned in creation order, so most adds are appends: a full last block is followed by
+// a new one instead of being split, which keeps append-only lists almost completely packed.
+//
+// Memory: 8 bytes per id plus the unused tail of partially filled blocks, instead of a skip-list
+// node, index levels and a boxed Long per id (~60 bytes)
+//
+// Thread-safety: a read-write lock per list. Readers copy the ids they need (idsAfter) under the
+// read lock, so they never see a block in the middle of a shift, and never hold the lock while
+// the caller works on the result.
+public final class IdPostingList {
+
+    static final int BLOCK_SIZE = 512;
+    private static final int INITIAL_BLOCK_CAPACITY = 8;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[][] blocks = new long[4][];
+    private int[] sizes = new int[4];
+    private int blockCount;
+    private int size;
+
+    // Returns false when the id was already present
+    public boolean add(long id) {
+        lock.writeLock().lock();
+        try {
+            if (blockCount == 0) {
+                insertBlock(0, new long[INITIAL_BLOCK_CAPACITY]);
+            }
+            int b = blockOf(id);
+            int position = Arrays.binarySearch(blocks[b], 0, sizes[b], id);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+
+            if (sizes[b] == BLOCK_SIZE) {
+                if (b == blockCount - 1 && position == BLOCK_SIZE) {
+                    // Append past a full last block: start a new block
+                    insertBlock(blockCount, new long[INITIAL_BLOCK_CAPACITY]);
+                    b = blockCount - 1;
+                    position = 0;
+                } else {
+                    split(b);
+                    if (position > sizes[b]) {
+                        position -= sizes[b];
+                        b++;
+                    }
+                }
+            }
+
+            long[] block = blocks[b];
+            if (sizes[b] == block.length) {
+                block = Arrays.copyOf(block, Math.min(BLOCK_SIZE, block.length * 2));
+                blocks[b] = block;
+            }
+            System.arraycopy(block, position, block, position + 1, sizes[b] - position);
+            block[position] = id;
+            sizes[b]++;
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns false when the id was not present
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            if (blockCount == 0) {
+                return false;
+            }
+            int b = blockOf(id);
+            int position = Arrays.binarySearch(blocks[b], 0, sizes[b], id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(blocks[b], position + 1, blocks[b], position, sizes[b] - position - 1);
+            sizes[b]--;
+            size--;
+
+            if (sizes[b] == 0) {
+                removeBlock(b);
+            } else if (sizes[b] < BLOCK_SIZE / 4) {
+                mergeWithNeighbor(b);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Up to max ids greater than afterId, in ascending order (a copy: shorter than max at the end)
+    public long[] idsAfter(long afterId, int max) {
+        lock.readLock().lock();
+        try {
+            if (blockCount == 0 || max <= 0) {
+                return new long[0];
+            }
+            int b = blockOf(afterId);
+            int position = Arrays.binarySearch(blocks[b], 0, sizes[b], afterId);
+            position = position >= 0 ? position + 1 : -position - 1;
+
+            long[] result = new long[Math.min(max, size)];
+            int count = 0;
+            while (b < blockCount && count < result.length) {
+                int length = Math.min(sizes[b] - position, result.length - count);
+                System.arraycopy(blocks[b], position, result, count, length);
+                count += length;
+                b++;
+                position = 0;
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] toArray() {
+        return idsAfter(Long.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Last block whose first id is <= id (block 0 when id is below every block)
+    private int blockOf(long id) {
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (blocks[middle][0] <= id) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void split(int b) {
+        int half = sizes[b] / 2;
+        long[] upper = new long[BLOCK_SIZE];
+        System.arraycopy(blocks[b], half, upper, 0, sizes[b] - half);
+        insertBlock(b + 1, upper);
+        sizes[b + 1] = sizes[b] - half;
+        sizes[b] = half;
+    }
+
+    // Folds a sparse block into the next (or previous) block when both fit in one
+    private void mergeWithNeighbor(int b) {
+        int target = b + 1 < blockCount ? b : b - 1;
+        if (target < 0 || sizes[target] + sizes[target + 1] > BLOCK_SIZE) {
+            return;
+        }
+        int merged = sizes[target] + sizes[target + 1];
+        long[] block = blocks[target].length >= merged ? blocks[target]
+                : Arrays.copyOf(blocks[target], Math.min(BLOCK_SIZE, Math.max(merged, blocks[target].length * 2)));
+        System.arraycopy(blocks[target + 1], 0, block, sizes[target], sizes[target + 1]);
+        blocks[target] = block;
+        sizes[target] = merged;
+        removeBlock(target + 1);
+    }
+
+    private void insertBlock(int at, long[] block) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            sizes = Arrays.copyOf(sizes, blockCount * 2);
+        }
+        System.arraycopy(blocks, at, blocks, at + 1, blockCount - at);
+        System.arraycopy(sizes, at, sizes, at + 1, blockCount - at);
+        blocks[at] = block;
+        sizes[at] = 0;
+        blockCount++;
+    }
+
+    private void removeBlock(int at) {
+        System.arraycopy(blocks, at + 1, blocks, at, blockCount - at - 1);
+        System.arraycopy(sizes, at + 1, sizes, at, blockCount - at - 1);
+        blockCount--;
+        blocks[blockCount] = null;
+        sizes[blockCount] = 0;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.managertasks.api.service.inmemory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// TodoEntryCodec - Binary layout of a todo, shared by the write-ahead log and snapshots
+//   [long id][byte priority][byte completed][long createdAt][long updatedAt]
+//   [int nameLength][name UTF-8][int userIdLength (-1 = no user)][userId UTF-8]
+final class TodoEntryCodec {
+
+    private static final int FIXED_SIZE = Long.BYTES + 2 + Long.BYTES * 2 + Integer.BYTES * 2;
+
+    private TodoEntryCodec() {
+    }
+
+    // Decoded todo, not yet attached to a store (the userId is still a String)
+    record DecodedEntry(long id, String name, byte priority, boolean completed, String userId, long createdAt,
+            long updatedAt) {
+    }
+
+    static int sizeOf(byte[] name, byte[] userId) {
+        return FIXED_SIZE + name.length + (userId != null ? userId.length : 0);
+    }
+
+    static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    static void write(ByteBuffer buffer, TodoEntry entry, byte[] name, byte[] userId) {
+        buffer.putLong(entry.id());
+        buffer.put(entry.priorityOrdinal());
+        buffer.put((byte) (entry.completed() ? 1 : 0));
+        buffer.putLong(entry.createdAt());
+        buffer.putLong(entry.updatedAt());
+        buffer.putInt(name.length);
+        buffer.put(name);
+        if (userId == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(userId.length);
+            buffer.put(userId);
+        }
+    }
+
+    static DecodedEntry read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        byte priority = buffer.get();
+        boolean completed = buffer.get() == 1;
+        long createdAt = buffer.getLong();
+        long updatedAt = buffer.getLong();
+        String name = readString(buffer, buffer.getInt());
+        int userIdLength = buffer.getInt();
+        String userId = userIdLength < 0 ? null : readString(buffer, userIdLength);
+        return new DecodedEntry(id, name, priority, completed, userId, createdAt, updatedAt);
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
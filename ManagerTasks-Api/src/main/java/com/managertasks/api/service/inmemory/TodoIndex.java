@@ -0,0 +1,97 @@
+package com.managertasks.api.service.inmemory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// TodoIndex - Secondary indexes for the in-memory todo store
+// In-memory counterpart of TodoRepository.findByUserId / findByUserIdAndCompleted / findByUserIdAndPriority
+//
+// Structure: one sorted id list per (user, completed, priority) combination, where ANY means
+// "any value". Every todo is registered under the 4 combinations it matches:
+//   (user, *, *)   (user, completed, *)   (user, *, priority)   (user, completed, priority)
+// so any filter combination is a direct lookup and a filtered read costs O(result size).
+// Ids are assigned in creation order, so each sorted list is also the keyset pagination order.
+//
+// Memory: each todo sits in 5 lists (all ids + 4 keys), each membership a primitive long in an
+// IdPostingList block: ~40-50 bytes per todo for all indexes together (measured by
+// TodoStoreFootprint), where skip-list sets of boxed Longs took ~300
+//
+// Thread-safety: each IdPostingList has its own read-write lock. Writers of the same todo are
+// serialized by TodoStore, writers of different todos only contend on the lists they share.
+public class TodoIndex {
+
+    public static final byte ANY = -1;
+
+    // Returned for keys no todo has used yet (never written to)
+    private static final IdPostingList EMPTY = new IdPostingList();
+
+    private record IndexKey(int userRef, byte completed, byte priority) {
+    }
+
+    // Every todo id, in creation order
+    private final IdPostingList allIds = new IdPostingList();
+
+    private final ConcurrentMap<IndexKey, IdPostingList> idsByKey = new ConcurrentHashMap<>();
+
+    public IdPostingList all() {
+        return allIds;
+    }
+
+    // Ids of the user's todos matching the filters (ANY = no filter), in creation order
+    public IdPostingList find(int userRef, byte completed, byte priority) {
+        IdPostingList ids = idsByKey.get(new IndexKey(userRef, completed, priority));
+        return ids != null ? ids : EMPTY;
+    }
+
+    public void add(TodoEntry entry) {
+        for (IndexKey key : keysOf(entry)) {
+            idsByKey.computeIfAbsent(key, k -> new IdPostingList()).add(entry.id());
+        }
+        allIds.add(entry.id());
+    }
+
+    // New keys are added before stale keys are removed: a todo that still matches a filter
+    // never disappears from that filter's set while the update is in progress
+    public void update(TodoEntry previous, TodoEntry current) {
+        Set<IndexKey> newKeys = keysOf(current);
+        for (IndexKey key : newKeys) {
+            idsByKey.computeIfAbsent(key, k -> new IdPostingList()).add(current.id());
+        }
+        for (IndexKey key : keysOf(previous)) {
+            if (!newKeys.contains(key)) {
+                removeFrom(key, previous.id());
+            }
+        }
+    }
+
+    public void remove(TodoEntry entry) {
+        allIds.remove(entry.id());
+        for (IndexKey key : keysOf(entry)) {
+            removeFrom(key, entry.id());
+        }
+    }
+
+    private void removeFrom(IndexKey key, long id) {
+        IdPostingList ids = idsByKey.get(key);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    private static Set<IndexKey> keysOf(TodoEntry entry) {
+        int user = entry.userRef();
+        byte completed = (byte) (entry.completed() ? 1 : 0);
+        byte priority = entry.priorityOrdinal();
+        return Set.of(
+                new IndexKey(user, ANY, ANY),
+                new IndexKey(user, completed, ANY),
+                new IndexKey(user, ANY, priority),
+                new IndexKey(user, completed, priority));
+    }
+
+    public static byte completedKey(Boolean completed) {
+        return completed == null ? ANY : (byte) (completed ? 1 : 0);
+    }
+
+}
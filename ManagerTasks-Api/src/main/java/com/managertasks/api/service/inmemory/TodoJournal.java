@@ -0,0 +1,30 @@
+package com.managertasks.api.service.inmemory;
+
+import java.util.concurrent.CompletableFuture;
+
+// TodoJournal - Receives every write applied to TodoStore, in the order it was applied
+// Calls happen inside the store's per-todo critical section, so implementations must only
+// enqueue work and return: the returned future completes once the write is durable
+// and the store waits on it after leaving the critical section.
+public interface TodoJournal {
+
+    // Journal used when durability is disabled: every write is "durable" immediately
+    TodoJournal NONE = new TodoJournal() {
+        @Override
+        public CompletableFuture<Void> recordPut(TodoEntry entry, String userId) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> recordDelete(long id) {
+            return CompletableFuture.completedFuture(null);
+        }
+    };
+
+    // A todo was created or updated (entry is the full new state)
+    CompletableFuture<Void> recordPut(TodoEntry entry, String userId);
+
+    // A todo was deleted
+    CompletableFuture<Void> recordDelete(long id);
+
+}
@@ -0,0 +1,306 @@
+package com.managertasks.api.service.inmemory;
+
+import com.managertasks.api.entity.PriorityEnum;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// TodoStore - Storage engine behind TodoServiceInMemory
+//
+// Concurrency Explanation:
+// Requests are served by many Tomcat threads at once, so the store must be thread-safe
+// ConcurrentHashMap locks only the bin of the key being written (lock striping) and reads never block
+// Entries are immutable (TodoEntry): writers replace them atomically through compute*, readers and
+// serializers always see a complete todo, never a half-applied update
+// AtomicLong hands out unique IDs without locking (incrementAndGet is a single CAS)
+// Secondary indexes are maintained inside the same compute* call that writes the entry, so the
+// index changes of one todo are applied in the same order as its writes
+// The journal (write-ahead log when durability is enabled) is fed from the same critical section,
+// so the log order of one todo's writes matches the order they were applied in memory. Callers
+// wait for durability only after the critical section is released.
+// Writers also hold journalLock shared from before the write is applied until its compute* has
+// returned (the new value is only visible in the map from then on). A log rotation takes it
+// exclusively (pauseWrites), so every record logged before the rotation belongs to a write that a
+// snapshot taken after it sees in memory.
+// A write the journal could not make durable is rolled back in memory (unless a later write of the
+// same todo already replaced it) and reported as an error. The write-ahead log is fail-stop, so
+// every later write fails the same way and no snapshot can be taken: a restart recovers exactly
+// the writes that were acknowledged.
+public class TodoStore {
+
+    // Owner argument of the internal update/remove meaning "whoever owns the todo"
+    private static final int ANY_OWNER = -2;
+
+    private final ConcurrentMap<Long, TodoEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+    private final TodoIndex index = new TodoIndex();
+    private final UserDictionary users = new UserDictionary();
+    private volatile TodoJournal journal = TodoJournal.NONE;
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+
+    public void attachJournal(TodoJournal journal) {
+        this.journal = journal;
+    }
+
+    public TodoEntry insert(String name, PriorityEnum priority, boolean completed, String userId) {
+        long now = System.currentTimeMillis();
+        TodoEntry entry = new TodoEntry(idSequence.incrementAndGet(), name, (byte) priority.ordinal(), completed,
+                users.intern(userId), now, now);
+
+        AtomicReference<CompletableFuture<Void>> durable = new AtomicReference<>();
+        journalLock.readLock().lock();
+        try {
+            entries.compute(entry.id(), (id, absent) -> {
+                index.add(entry);
+                durable.set(journal.recordPut(entry, userId));
+                return entry;
+            });
+        } finally {
+            journalLock.readLock().unlock();
+        }
+        awaitDurable(durable.get(), () -> entries.computeIfPresent(entry.id(), (id, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            index.remove(entry);
+            return null;
+        }));
+        return entry;
+    }
+
+    // Returns null when the todo does not exist
+    public TodoEntry get(long id) {
+        return entries.get(id);
+    }
+
+    public Collection<TodoEntry> values() {
+        return entries.values();
+    }
+
+    // Applies the changes atomically for this id: concurrent updates of the same todo run one after
+    // the other on the latest entry, so no write is lost. A null completed keeps the current value.
+    // Returns null when the todo does not exist
+    public TodoEntry update(long id, String name, PriorityEnum priority, Boolean completed, String userId) {
+        Replacement replacement = replace(id, name, priority, completed, userId);
+        return replacement != null ? replacement.updated() : null;
+    }
+
+    // Same as update, but also returns the entry the update replaced, taken inside the same
+    // computeIfPresent: a caller reading it with get() beforehand could see an older version when
+    // another update of the todo lands in between (e.g. to tell which owner a todo was moved away from)
+    // Returns null when the todo does not exist
+    public Replacement replace(long id, String name, PriorityEnum priority, Boolean completed, String userId) {
+        return update(id, ANY_OWNER, name, priority, completed, userId);
+    }
+
+    // Same as update, but only applied when the todo currently belongs to ownerId (which stays its
+    // owner). The ownership check runs inside the same computeIfPresent as the write, so a concurrent
+    // re-owning or delete of the todo cannot slip in between check and write
+    // Returns null when the todo does not exist or belongs to another user
+    public TodoEntry updateIfOwnedBy(long id, String ownerId, String name, PriorityEnum priority, Boolean completed) {
+        int ownerRef = users.find(ownerId);
+        Replacement replacement = ownerRef < 0 ? null : update(id, ownerRef, name, priority, completed, ownerId);
+        return replacement != null ? replacement.updated() : null;
+    }
+
+    private Replacement update(long id, int expectedOwnerRef, String name, PriorityEnum priority, Boolean completed,
+            String userId) {
+        byte priorityOrdinal = (byte) priority.ordinal();
+        int userRef = users.intern(userId);
+
+        AtomicReference<CompletableFuture<Void>> durable = new AtomicReference<>();
+        AtomicReference<TodoEntry> previous = new AtomicReference<>();
+        AtomicReference<TodoEntry> result = new AtomicReference<>();
+        journalLock.readLock().lock();
+        try {
+            entries.computeIfPresent(id, (todoId, current) -> {
+                if (expectedOwnerRef != ANY_OWNER && current.userRef() != expectedOwnerRef) {
+                    return current;
+                }
+                TodoEntry updated = current.withChanges(name, priorityOrdinal,
+                        completed != null ? completed : current.completed(), userRef, System.currentTimeMillis());
+                index.update(current, updated);
+                durable.set(journal.recordPut(updated, userId));
+                previous.set(current);
+                result.set(updated);
+                return updated;
+            });
+        } finally {
+            journalLock.readLock().unlock();
+        }
+        TodoEntry updated = result.get();
+        if (updated == null) {
+            return null;
+        }
+        TodoEntry replaced = previous.get();
+        awaitDurable(durable.get(), () -> entries.computeIfPresent(id, (todoId, current) -> {
+            if (current != updated) {
+                return current;
+            }
+            index.update(updated, replaced);
+            return replaced;
+        }));
+        return new Replacement(replaced, updated);
+    }
+
+    // An update as applied: the entry it replaced and the entry that replaced it
+    public record Replacement(TodoEntry previous, TodoEntry updated) {
+    }
+
+    // Returns the removed entry, or null when the todo does not exist
+    public TodoEntry remove(long id) {
+        return remove(id, ANY_OWNER);
+    }
+
+    // Same as remove, but only when the todo currently belongs to ownerId (checked inside the same
+    // computeIfPresent as the removal). Returns null when the todo does not exist or belongs to
+    // another user
+    public TodoEntry removeIfOwnedBy(long id, String ownerId) {
+        int ownerRef = users.find(ownerId);
+        return ownerRef < 0 ? null : remove(id, ownerRef);
+    }
+
+    private TodoEntry remove(long id, int expectedOwnerRef) {
+        AtomicReference<TodoEntry> removed = new AtomicReference<>();
+        AtomicReference<CompletableFuture<Void>> durable = new AtomicReference<>();
+        journalLock.readLock().lock();
+        try {
+            entries.computeIfPresent(id, (todoId, current) -> {
+                if (expectedOwnerRef != ANY_OWNER && current.userRef() != expectedOwnerRef) {
+                    return current;
+                }
+                index.remove(current);
+                removed.set(current);
+                durable.set(journal.recordDelete(todoId));
+                return null;
+            });
+        } finally {
+            journalLock.readLock().unlock();
+        }
+        TodoEntry entry = removed.get();
+        // Ids are never reused, so an absent id can only be restored by this rollback
+        awaitDurable(durable.get(), () -> entries.computeIfAbsent(id, todoId -> {
+            index.add(entry);
+            return entry;
+        }));
+        return entry;
+    }
+
+    public String userIdOf(TodoEntry entry) {
+        return users.userIdOf(entry.userRef());
+    }
+
+    // Runs action while no write is between being applied and being published: every write
+    // journaled before action is visible in the map afterwards, every later one is journaled after it
+    // Used by TodoStorePersistence to rotate the log; action must only enqueue, not wait on the log
+    <T> T pauseWrites(Supplier<T> action) {
+        journalLock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    // Recovery API (used by TodoStorePersistence before the store serves requests)
+    // Restored writes bypass the journal: they are already on disk
+
+    long currentSequence() {
+        return idSequence.get();
+    }
+
+    void advanceSequence(long id) {
+        idSequence.accumulateAndGet(id, Math::max);
+    }
+
+    void restorePut(TodoEntryCodec.DecodedEntry decoded) {
+        TodoEntry entry = new TodoEntry(decoded.id(), decoded.name(), decoded.priority(), decoded.completed(),
+                users.intern(decoded.userId()), decoded.createdAt(), decoded.updatedAt());
+        entries.compute(entry.id(), (id, previous) -> {
+            if (previous != null) {
+                index.update(previous, entry);
+            } else {
+                index.add(entry);
+            }
+            return entry;
+        });
+        advanceSequence(entry.id());
+    }
+
+    void restoreDelete(long id) {
+        entries.computeIfPresent(id, (todoId, current) -> {
+            index.remove(current);
+            return null;
+        });
+        advanceSequence(id);
+    }
+
+    // Waits for the journal; when the write could not be made durable, runs rollback first
+    private static void awaitDurable(CompletableFuture<Void> durable, Runnable rollback) {
+        if (durable == null) {
+            return;
+        }
+        try {
+            durable.join();
+        } catch (CompletionException ex) {
+            rollback.run();
+            throw new IllegalStateException("Todo change could not be written to the write-ahead log", ex.getCause());
+        }
+    }
+
+    // Up to maxResults todos with id > afterId, in creation order
+    public List<TodoEntry> findAfter(long afterId, int maxResults) {
+        return collect(index.all(), -1, TodoIndex.ANY, TodoIndex.ANY, afterId, maxResults);
+    }
+
+    // Up to maxResults of the user's todos with id > afterId, in creation order
+    // A null completed/priority does not filter on that field
+    public List<TodoEntry> findByUserAfter(String userId, Boolean completed, PriorityEnum priority, long afterId,
+            int maxResults) {
+        int userRef = users.find(userId);
+        if (userRef < 0) {
+            return List.of();
+        }
+        byte completedKey = TodoIndex.completedKey(completed);
+        byte priorityKey = priority != null ? (byte) priority.ordinal() : TodoIndex.ANY;
+        return collect(index.find(userRef, completedKey, priorityKey), userRef, completedKey, priorityKey, afterId,
+                maxResults);
+    }
+
+    // The index list is sorted by id: the walk copies ids after afterId in batches and stops after
+    // maxResults matches, so the cost is O(maxResults) whatever the total number of todos
+    // Entries are re-checked because an index entry can briefly outlive a concurrent update
+    private List<TodoEntry> collect(IdPostingList ids, int userRef, byte completed, byte priority,
+            long afterId, int maxResults) {
+        List<TodoEntry> result = new ArrayList<>(Math.min(maxResults, 256));
+        long after = afterId;
+        while (result.size() < maxResults) {
+            int wanted = maxResults - result.size();
+            long[] batch = ids.idsAfter(after, wanted);
+            for (long id : batch) {
+                TodoEntry entry = entries.get(id);
+                if (entry != null
+                        && (userRef < 0 || entry.userRef() == userRef)
+                        && (completed == TodoIndex.ANY || entry.completed() == (completed == 1))
+                        && (priority == TodoIndex.ANY || entry.priorityOrdinal() == priority)) {
+                    result.add(entry);
+                }
+            }
+            if (batch.length < wanted) {
+                break;
+            }
+            after = batch[batch.length - 1];
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,250 @@
+package com.managertasks.api.service.inmemory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// TodoStorePersistence - Optional durability for the in-memory todo store
+//
+// Files in the data directory:
+//   snapshot-<N>.bin  compacted state of the store at the moment segment N was opened
+//   wal-<N>.log       every write applied after that moment (see TodoWriteAheadLog)
+//
+// Lifecycle:
+// 1. RECOVERY: load the newest snapshot (memory-mapped), then replay wal segments >= N in order
+//    Replay is idempotent (full-state PUTs and DELETEs), so a write present in both the snapshot
+//    and a segment is simply applied twice
+// 2. LOGGING: a new segment is opened and attached to the store as its TodoJournal
+// 3. SNAPSHOTS: periodically the log is rotated to segment N, the store is written to
+//    snapshot-N.bin (tmp file + fsync + atomic rename + directory fsync), then older snapshots and
+//    segments are deleted
+//    The rotation is enqueued while the store pauses its writes (TodoStore.pauseWrites): every
+//    write logged to an older segment has been published in memory by then, so the snapshot
+//    iteration that follows sees it (or a later version of the same todo)
+// 4. SHUTDOWN: pending log writes are flushed and the segment is closed
+public class TodoStorePersistence implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoStorePersistence.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x544F444F; // "TODO"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 2;
+
+    // Snapshots are mapped in windows so files larger than 2 GB can be loaded
+    private static final long MAP_WINDOW = 256L << 20;
+
+    private final TodoStore store;
+    private final Path directory;
+    private final TodoWriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService snapshotScheduler;
+
+    private TodoStorePersistence(TodoStore store, Path directory, TodoWriteAheadLog writeAheadLog,
+            long snapshotIntervalMs) {
+        this.store = store;
+        this.directory = directory;
+        this.writeAheadLog = writeAheadLog;
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("todo-snapshot").daemon().factory());
+        if (snapshotIntervalMs > 0) {
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalMs, snapshotIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Recovers the store from the directory, then starts logging its writes
+    public static TodoStorePersistence open(TodoStore store, Path directory, long snapshotIntervalMs)
+            throws IOException {
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+
+        long snapshotSegment = latest(directory, "snapshot-", ".bin");
+        long loaded = snapshotSegment >= 0 ? loadSnapshot(store, snapshotPath(directory, snapshotSegment)) : 0;
+
+        long replayed = 0;
+        long lastSegment = Math.max(snapshotSegment, 0);
+        for (long segment : segments(directory)) {
+            if (segment < snapshotSegment) {
+                continue;
+            }
+            replayed += TodoWriteAheadLog.replay(TodoWriteAheadLog.segmentPath(directory, segment),
+                    store::restorePut, store::restoreDelete);
+            lastSegment = Math.max(lastSegment, segment);
+        }
+
+        log.info("Recovered in-memory todo store from {}: {} snapshot entries, {} log records in {} ms",
+                directory, loaded, replayed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        // Recovered segments are never appended to: logging continues in a fresh segment
+        TodoWriteAheadLog writeAheadLog = new TodoWriteAheadLog(directory, lastSegment + 1);
+        store.attachJournal(writeAheadLog);
+        return new TodoStorePersistence(store, directory, writeAheadLog, snapshotIntervalMs);
+    }
+
+    // Writes a compacted snapshot and drops the log segments it makes obsolete
+    public void snapshot() throws IOException {
+        // Only the enqueueing happens under the pause: writers wait for the lock, not for an fsync
+        long segment = store.pauseWrites(writeAheadLog::rotate).join();
+        long started = System.nanoTime();
+
+        Path target = snapshotPath(directory, segment);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        long count = writeSnapshot(temporary);
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        // The rename must be durable before the segments it replaces are deleted: otherwise a crash
+        // could lose both the new snapshot's directory entry and the older segments
+        TodoWriteAheadLog.syncDirectory(directory);
+
+        for (long old : segments(directory)) {
+            if (old < segment) {
+                Files.deleteIfExists(TodoWriteAheadLog.segmentPath(directory, old));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                long number = numberOf(file, "snapshot-", ".bin");
+                if (number >= 0 && number < segment) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        log.info("Wrote in-memory todo snapshot {} ({} entries) in {} ms",
+                target.getFileName(), count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        snapshotScheduler.shutdownNow();
+        writeAheadLog.close();
+        store.attachJournal(TodoJournal.NONE);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception ex) {
+            log.error("Could not write in-memory todo snapshot", ex);
+        }
+    }
+
+    // Layout: [int magic][int version][long sequence][long count] then TodoEntryCodec entries
+    private long writeSnapshot(Path file) throws IOException {
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // The sequence is read before iterating: every entry seen below has an id <= sequence
+            // or was written later, in which case its segment record advances the sequence on replay
+            long sequence = store.currentSequence();
+            channel.position(SNAPSHOT_HEADER_SIZE);
+
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+            for (TodoEntry entry : store.values()) {
+                byte[] name = TodoEntryCodec.utf8(entry.name());
+                byte[] userId = TodoEntryCodec.utf8(store.userIdOf(entry));
+                int size = TodoEntryCodec.sizeOf(name, userId);
+                if (buffer.remaining() < size) {
+                    drain(channel, buffer);
+                    if (buffer.capacity() < size) {
+                        buffer = ByteBuffer.allocate(size);
+                    }
+                }
+                TodoEntryCodec.write(buffer, entry, name, userId);
+                count++;
+            }
+            drain(channel, buffer);
+
+            ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+            header.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(sequence).putLong(count).flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        return count;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Loads a snapshot through read-only memory mappings: the OS pages the file in directly,
+    // without copying it through an intermediate heap buffer
+    private static long loadSnapshot(TodoStore store, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SNAPSHOT_HEADER_SIZE);
+            if (header.getInt() != SNAPSHOT_MAGIC || header.getInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a todo snapshot: " + file);
+            }
+            store.advanceSequence(header.getLong());
+            long count = header.getLong();
+
+            long windowStart = SNAPSHOT_HEADER_SIZE;
+            MappedByteBuffer window = map(channel, windowStart, size);
+            for (long i = 0; i < count; i++) {
+                int start = window.position();
+                try {
+                    store.restorePut(TodoEntryCodec.read(window));
+                } catch (BufferUnderflowException ex) {
+                    // Entry crosses the end of the window: remap starting at the entry and retry
+                    windowStart += start;
+                    window = map(channel, windowStart, size);
+                    store.restorePut(TodoEntryCodec.read(window));
+                }
+            }
+            return count;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+    }
+
+    private static Path snapshotPath(Path directory, long segment) {
+        return directory.resolve(String.format("snapshot-%016d.bin", segment));
+    }
+
+    private static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> numberOf(file, "wal-", ".log"))
+                    .filter(number -> number >= 0)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long latest(Path directory, String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> numberOf(file, prefix, suffix)).max().orElse(-1);
+        }
+    }
+
+    private static long numberOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+}
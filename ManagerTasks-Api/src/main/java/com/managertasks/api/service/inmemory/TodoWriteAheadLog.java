@@ -0,0 +1,346 @@
+package com.managertasks.api.service.inmemory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// TodoWriteAheadLog - Append-only log of in-memory todo writes with group commit
+//
+// Record layout: [int payloadLength][int crc32c(payload)][payload]
+//   payload = [byte op][TodoEntryCodec entry]  for PUT
+//           = [byte op][long id]               for DELETE
+//
+// Group Commit Explanation:
+// Request threads only encode their record and enqueue it (TodoJournal contract)
+// A single writer thread takes everything queued so far, writes it with one gathering
+// FileChannel.write and makes it durable with one force() call, then completes all their futures
+// While one fsync is in flight new records pile up in the queue and share the next one, so the
+// number of fsyncs per second stays bounded while throughput grows with concurrency
+//
+// Segments: the log is split into numbered files (wal-<segment>.log). rotate() switches to a new
+// segment; a snapshot taken right after the switch makes every older segment obsolete.
+//
+// Failure: if the writer thread stops (close, an I/O error or an unexpected error), every queued
+// write and every later append completes exceptionally, so no caller is left waiting on a dead writer.
+// An I/O error is fail-stop: a failed write or fsync may have left a partial record at the end of
+// the segment, and replay() stops at the first torn record. Appending after it would acknowledge
+// writes that recovery then silently drops, so the writer never appends again after an I/O error
+// (and rotate() fails too, so no snapshot is taken of a store holding non-durable writes).
+public class TodoWriteAheadLog implements TodoJournal, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoWriteAheadLog.class);
+
+    static final byte OP_PUT = 1;
+    static final byte OP_DELETE = 2;
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private static final int MAX_BATCH = 1024;
+
+    // Queue element: a record to append, or a control action run by the writer thread
+    private record PendingWrite(ByteBuffer record, Runnable action, CompletableFuture<Void> done) {
+    }
+
+    // Opens a segment file for appending (replaced in tests to inject I/O errors)
+    @FunctionalInterface
+    interface SegmentOpener {
+        FileChannel open(Path file) throws IOException;
+    }
+
+    private static final SegmentOpener APPEND = file -> FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+    private final Path directory;
+    private final SegmentOpener opener;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    // Set when the writer thread died on an I/O or unexpected error
+    private volatile Throwable failure;
+
+    // Only touched by the writer thread (and by the constructor before it starts)
+    private FileChannel channel;
+    private long segment;
+
+    public TodoWriteAheadLog(Path directory, long segment) throws IOException {
+        this(directory, segment, APPEND);
+    }
+
+    TodoWriteAheadLog(Path directory, long segment, SegmentOpener opener) throws IOException {
+        this.directory = directory;
+        this.opener = opener;
+        this.segment = segment;
+        this.channel = openSegment(segment);
+        this.writer = Thread.ofPlatform().name("todo-wal-writer").daemon().unstarted(this::writeLoop);
+        this.writer.start();
+    }
+
+    @Override
+    public CompletableFuture<Void> recordPut(TodoEntry entry, String userId) {
+        byte[] name = TodoEntryCodec.utf8(entry.name());
+        byte[] user = TodoEntryCodec.utf8(userId);
+        ByteBuffer payload = ByteBuffer.allocate(1 + TodoEntryCodec.sizeOf(name, user));
+        payload.put(OP_PUT);
+        TodoEntryCodec.write(payload, entry, name, user);
+        return enqueue(payload);
+    }
+
+    @Override
+    public CompletableFuture<Void> recordDelete(long id) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES);
+        payload.put(OP_DELETE);
+        payload.putLong(id);
+        return enqueue(payload);
+    }
+
+    // Switches appends to a new segment, ordered after every record enqueued before this call
+    // Completes with the number of the new segment
+    public CompletableFuture<Long> rotate() {
+        CompletableFuture<Long> rotated = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        // A rotation rejected because the writer stopped fails the caller instead of never completing
+        done.whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                rotated.completeExceptionally(ex);
+            }
+        });
+        submit(new PendingWrite(null, () -> {
+            try {
+                channel.force(false);
+                channel.close();
+                segment++;
+                channel = openSegment(segment);
+                rotated.complete(segment);
+            } catch (IOException ex) {
+                rotated.completeExceptionally(ex);
+                // The old segment may be closed and no new one open: stop the writer
+                throw new UncheckedIOException(ex);
+            }
+        }, done));
+        return rotated;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        queue.add(new PendingWrite(null, () -> running = false, new CompletableFuture<>()));
+        writer.join();
+    }
+
+    private CompletableFuture<Void> enqueue(ByteBuffer payload) {
+        payload.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.remaining());
+        record.putInt(payload.remaining());
+        record.putInt((int) crc.getValue());
+        record.put(payload);
+        record.flip();
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        submit(new PendingWrite(record, null, done));
+        return done;
+    }
+
+    private void submit(PendingWrite write) {
+        if (!running) {
+            write.done().completeExceptionally(rejection());
+            return;
+        }
+        queue.add(write);
+        // The writer may have stopped between the check and the add, after its last drain of the
+        // queue: drain again here (completing an already completed future is a no-op)
+        if (!running) {
+            rejectQueued();
+        }
+    }
+
+    private void rejectQueued() {
+        List<PendingWrite> rejected = new ArrayList<>();
+        queue.drainTo(rejected);
+        IllegalStateException reason = rejection();
+        rejected.forEach(write -> write.done().completeExceptionally(reason));
+    }
+
+    private IllegalStateException rejection() {
+        Throwable cause = failure;
+        return cause != null
+                ? new IllegalStateException("Write-ahead log writer failed", cause)
+                : new IllegalStateException("Write-ahead log is closed");
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                commit(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException | Error ex) {
+                // The writer cannot go on (I/O error or bug): fail the batch it was committing (writes
+                // already completed are unaffected) and make every later append fail fast
+                log.error("Write-ahead log writer failed, rejecting further writes", ex);
+                failure = ex;
+                IllegalStateException reason = rejection();
+                batch.forEach(write -> write.done().completeExceptionally(reason));
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        running = false;
+
+        // Writes that raced with close() (or the failure) are rejected rather than left waiting forever
+        rejectQueued();
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException ex) {
+            log.error("Could not close write-ahead log segment {}", segment, ex);
+        }
+    }
+
+    // Appends the records of the batch with one write + one fsync, running control actions in order
+    private void commit(List<PendingWrite> batch) {
+        List<PendingWrite> pending = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            if (write.action() == null) {
+                pending.add(write);
+                continue;
+            }
+            flush(pending);
+            write.action().run();
+            write.done().complete(null);
+        }
+        flush(pending);
+    }
+
+    private void flush(List<PendingWrite> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] records = new ByteBuffer[pending.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = pending.get(i).record();
+        }
+        try {
+            while (hasRemaining(records)) {
+                channel.write(records);
+            }
+            channel.force(false);
+            pending.forEach(write -> write.done().complete(null));
+            pending.clear();
+        } catch (IOException ex) {
+            // Fail-stop: the segment may now end in a torn record, nothing may be appended after it
+            UncheckedIOException error = new UncheckedIOException(ex);
+            pending.forEach(write -> write.done().completeExceptionally(error));
+            pending.clear();
+            throw error;
+        }
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        return buffers[buffers.length - 1].hasRemaining();
+    }
+
+    // The directory is synced after creating the segment, so the new file's entry survives a crash
+    // before any record appended to it is reported durable
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel opened = opener.open(segmentPath(directory, number));
+        syncDirectory(directory);
+        return opened;
+    }
+
+    // fsync of the directory itself: a file's force() covers its contents, not its directory entry,
+    // so creations, renames and deletions are only durable once the directory is synced
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("wal-%016d.log", number));
+    }
+
+    // Replays one segment: calls onPut/onDelete for every intact record, in log order
+    // A torn or corrupt tail (crash during append) ends the replay and is truncated away
+    static long replay(Path file, Consumer<TodoEntryCodec.DecodedEntry> onPut, Consumer<Long> onDelete)
+            throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+            long position = 0;
+            long size = channel.size();
+
+            while (position + HEADER_SIZE <= size) {
+                if (!fill(channel, buffer, position, HEADER_SIZE)) {
+                    break;
+                }
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || position + HEADER_SIZE + length > size) {
+                    break;
+                }
+                if (buffer.capacity() < length) {
+                    buffer = ByteBuffer.allocate(length);
+                }
+                if (!fill(channel, buffer, position + HEADER_SIZE, length)) {
+                    break;
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                byte op = buffer.get();
+                if (op == OP_PUT) {
+                    onPut.accept(TodoEntryCodec.read(buffer));
+                } else if (op == OP_DELETE) {
+                    onDelete.accept(buffer.getLong());
+                } else {
+                    break;
+                }
+                position += HEADER_SIZE + length;
+                records++;
+            }
+
+            if (position < size) {
+                log.warn("Truncating write-ahead log {} at byte {} (incomplete tail of {} bytes)",
+                        file, position, size - position);
+                channel.truncate(position);
+            }
+        }
+        return records;
+    }
+
+    // Reads exactly length bytes at position into buffer (flipped for reading)
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, long position, int length)
+            throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+}
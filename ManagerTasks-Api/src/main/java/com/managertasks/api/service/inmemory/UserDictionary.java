@@ -0,0 +1,64 @@
+package com.managertasks.api.service.inmemory;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// UserDictionary - Dictionary encoding of userId Strings
+// Todos store a 4-byte int reference instead of their own copy of the userId String
+// Lookups (String -> ref) go through a ConcurrentHashMap, reverse lookups (ref -> String) read a
+// volatile array, both without locking. Only the first sighting of a userId takes the lock.
+// Reference 0 is reserved for todos without a userId.
+public class UserDictionary {
+
+    public static final int NO_USER = 0;
+
+    private final ConcurrentMap<String, Integer> refsByUserId = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile String[] userIds = new String[64];
+    private int size = 1;
+
+    // Returns the reference of userId, assigning a new one on first use
+    public int intern(String userId) {
+        if (userId == null) {
+            return NO_USER;
+        }
+        Integer ref = refsByUserId.get(userId);
+        if (ref != null) {
+            return ref;
+        }
+
+        appendLock.lock();
+        try {
+            ref = refsByUserId.get(userId);
+            if (ref != null) {
+                return ref;
+            }
+            String[] current = userIds;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = userId;
+            userIds = current;
+            refsByUserId.put(userId, size);
+            return size++;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Returns the reference of an already known userId, or -1 (no todo can match it)
+    public int find(String userId) {
+        if (userId == null) {
+            return NO_USER;
+        }
+        Integer ref = refsByUserId.get(userId);
+        return ref != null ? ref : -1;
+    }
+
+    public String userIdOf(int ref) {
+        return ref == NO_USER ? null : userIds[ref];
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.managertasks.api.service.search;
+
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoView;
+import com.managertasks.api.repository.TodoRepository;
+import com.managertasks.api.service.event.TodoChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// TodoNameIndex - In-process substring search over todo names, one trigram index per user
+//
+// Lifecycle:
+// 1) ApplicationReadyEvent: the index is built in the background from one streamed pass over todos
+// 2) Until the build finishes, search() returns null and callers use the SQL path
+// 3) Every committed database write (TodoChangedEvent) updates the owner's index; an import
+//    reloads that user's todos
+//
+// Consistency Explanation:
+// The index follows commits on this node (like the page cache), so writes made by another
+// instance against the same database are not seen here: disable it with
+// todo.name-index.enabled=false when running more than one instance
+@Component
+public class TodoNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoNameIndex.class);
+
+    @Value("${todo.name-index.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<UUID, LockedIndex> users = new ConcurrentHashMap<>();
+
+    // IDs deleted while the startup build runs: the build must not bring them back
+    private final Set<UUID> deletedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    private static final class LockedIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private UserNameIndex index = new UserNameIndex();
+        // One reload of this user at a time (see reload)
+        private final ReentrantLock reloadLock = new ReentrantLock();
+        // Changes applied while a reload reads the database, replayed onto the rebuilt index;
+        // null when no reload runs (guarded by lock)
+        private List<Consumer<UserNameIndex>> duringReload;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        building = true;
+        Thread.ofVirtual().name("todo-name-index-build").start(() -> {
+            long start = System.nanoTime();
+            try {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setReadOnly(true);
+                transaction.executeWithoutResult(status -> {
+                    try (Stream<TodoView> todos = todoRepository.streamAll()) {
+                        todos.forEach(this::addIfAbsent);
+                    }
+                });
+                // From here on writes restore their user's order themselves
+                building = false;
+                restoreOrder();
+                ready = true;
+                log.info("Todo name index built for {} users in {} ms",
+                        users.size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException ex) {
+                log.warn("Todo name index build failed, searches use SQL", ex);
+            } finally {
+                building = false;
+                deletedDuringBuild.clear();
+            }
+        });
+    }
+
+    // Returns the user's todos whose name contains criteria.text() and that match the other filters,
+    // after (afterCreatedAt, afterId) in (createdAt, id) order, at most limit rows
+    // Returns null when the index is not available, the caller then runs the SQL query
+    public List<TodoView> search(UUID userId, TodoSearchCriteria criteria, Instant afterCreatedAt, UUID afterId,
+            int limit) {
+        if (!ready) {
+            return null;
+        }
+        LockedIndex user = users.get(userId);
+        if (user == null) {
+            return List.of();
+        }
+
+        List<TodoView> matches = new ArrayList<>();
+        boolean sorted;
+        user.lock.readLock().lock();
+        try {
+            sorted = user.index.collect(UserNameIndex.lower(criteria.text()),
+                    filterOf(criteria, afterCreatedAt, afterId), limit, matches);
+        } finally {
+            user.lock.readLock().unlock();
+        }
+
+        if (sorted) {
+            return matches;
+        }
+        matches.sort(UserNameIndex.KEYSET_ORDER);
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (!enabled || event.source() != TodoChangedEvent.Source.DATABASE || event.userId() == null) {
+            return;
+        }
+        UUID userId = UUID.fromString(event.userId());
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                if (event.todo() instanceof TodoView view) {
+                    write(userId, index -> index.put(view));
+                }
+            }
+            case DELETED -> {
+                UUID todoId = UUID.fromString(event.todoId());
+                if (building) {
+                    deletedDuringBuild.add(todoId);
+                }
+                write(userId, index -> index.remove(todoId));
+            }
+            case IMPORTED -> reload(userId);
+        }
+    }
+
+    // Startup build: an event may already have indexed a newer version of this todo
+    private void addIfAbsent(TodoView view) {
+        if (deletedDuringBuild.contains(view.id())) {
+            return;
+        }
+        write(view.userId(), index -> {
+            if (!index.contains(view.id())) {
+                index.put(view);
+            }
+        });
+    }
+
+    // COPY imports bypass the per-row events, so the whole user index is rebuilt from the database
+    // The query runs outside the write lock (searches and writes of the user go on meanwhile), so
+    // every change applied from the moment the reload starts is recorded and replayed onto the
+    // rebuilt index before the swap
+    // - A change already in the query result is replayed too, which is harmless: put replaces by
+    //   id and remove of a missing id does nothing
+    // - A write committed after the query snapshot fires its event after that commit, so it is
+    //   either recorded (swap not done yet) or applied to the rebuilt index directly
+    private void reload(UUID userId) {
+        LockedIndex user = users.computeIfAbsent(userId, key -> new LockedIndex());
+        user.reloadLock.lock();
+        try {
+            user.lock.writeLock().lock();
+            try {
+                user.duringReload = new ArrayList<>();
+            } finally {
+                user.lock.writeLock().unlock();
+            }
+
+            UserNameIndex rebuilt = null;
+            try {
+                List<TodoView> todos = new ArrayList<>(todoRepository.findViewsByUserId(userId));
+                todos.sort(UserNameIndex.KEYSET_ORDER);
+                rebuilt = new UserNameIndex();
+                todos.forEach(rebuilt::put);
+            } finally {
+                // A failed query leaves the current index in place
+                user.lock.writeLock().lock();
+                try {
+                    if (rebuilt != null) {
+                        for (Consumer<UserNameIndex> change : user.duringReload) {
+                            change.accept(rebuilt);
+                        }
+                        if (!building && !rebuilt.isOrdered()) {
+                            rebuilt.compact();
+                        }
+                        user.index = rebuilt;
+                    }
+                    user.duringReload = null;
+                } finally {
+                    user.lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            user.reloadLock.unlock();
+        }
+    }
+
+    private void write(UUID userId, Consumer<UserNameIndex> change) {
+        LockedIndex user = users.computeIfAbsent(userId, key -> new LockedIndex());
+        user.lock.writeLock().lock();
+        try {
+            change.accept(user.index);
+            if (user.duringReload != null) {
+                user.duringReload.add(change);
+            }
+            // During the build, todos created meanwhile precede older streamed rows: the order is
+            // restored once at the end instead of after every row
+            if (!building && !user.index.isOrdered()) {
+                user.index.compact();
+            }
+        } finally {
+            user.lock.writeLock().unlock();
+        }
+    }
+
+    private void restoreOrder() {
+        for (LockedIndex user : users.values()) {
+            user.lock.writeLock().lock();
+            try {
+                if (!user.index.isOrdered()) {
+                    user.index.compact();
+                }
+            } finally {
+                user.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static Predicate<TodoView> filterOf(TodoSearchCriteria criteria, Instant afterCreatedAt, UUID afterId) {
+        return view -> (criteria.completed() == null || criteria.completed().equals(view.completed()))
+                && (criteria.priority() == null || criteria.priority() == view.priority())
+                && (criteria.createdFrom() == null || !view.createdAt().isBefore(criteria.createdFrom()))
+                && (criteria.createdTo() == null || view.createdAt().isBefore(criteria.createdTo()))
+                && (criteria.updatedFrom() == null || !view.updatedAt().isBefore(criteria.updatedFrom()))
+                && (criteria.updatedTo() == null || view.updatedAt().isBefore(criteria.updatedTo()))
+                && (afterCreatedAt == null || view.createdAt().isAfter(afterCreatedAt)
+                        || (view.createdAt().equals(afterCreatedAt) && UserNameIndex.compareUuid(view.id(), afterId) > 0));
+    }
+
+}
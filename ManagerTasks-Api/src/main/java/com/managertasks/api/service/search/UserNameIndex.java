@@ -0,0 +1,342 @@
+package com.managertasks.api.service.search;
+
+import com.managertasks.api.dto.response.TodoView;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+// UserNameIndex - Trigram inverted index over the names of one user's todos
+//
+// Layout Explanation:
+// - Every indexed todo gets a document number (int), docs[doc] holds its TodoView
+// - Document numbers follow (createdAt, id) order: the startup build streams todos in that order,
+//   new todos are appended (newest createdAt) and updates keep their number, so walking documents
+//   in number order yields search results already sorted and a page can stop after limit rows
+// - Each trigram (3 lower-cased chars packed into one long) maps to a posting list: a sorted int[]
+//   of document numbers
+// - Trigrams live in an open-addressing table (long[] keys, int[][] postings, int[] sizes), so
+//   there is no boxed key or list object per trigram
+// - A delete clears docs[doc]; a rename adds the new trigrams and leaves the old ones (stale
+//   entries fail the substring check); compact() rebuilds everything once either kind dominates
+//
+// Not thread-safe: TodoNameIndex guards every instance with a read/write lock
+final class UserNameIndex {
+
+    // (createdAt, id) in PostgreSQL order: uuid compares as unsigned bytes, so pages cut by the
+    // index and by the SQL fallback agree on ties
+    static final Comparator<TodoView> KEYSET_ORDER = Comparator
+            .comparing(TodoView::createdAt)
+            .thenComparing(TodoView::id, UserNameIndex::compareUuid);
+
+    private static final long EMPTY = -1L;
+    private static final int COMPACT_MIN_GARBAGE = 64;
+
+    private TodoView[] docs = new TodoView[8];
+    private int docCount;
+    private int deadCount;
+    private int staleCount;
+    private TodoView lastAppended;
+    private boolean ordered = true;
+    private final Map<UUID, Integer> docOf = new HashMap<>();
+
+    private long[] keys;
+    private int[][] postings;
+    private int[] sizes;
+    private int trigramCount;
+
+    UserNameIndex() {
+        resetTrigrams(16);
+    }
+
+    boolean contains(UUID id) {
+        return docOf.containsKey(id);
+    }
+
+    // False after a todo was appended out of (createdAt, id) order (concurrent commits, startup
+    // build racing with new todos); the owner then calls compact() to restore the order
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    // Adds the todo, or replaces the previous version of the same id in place
+    void put(TodoView view) {
+        Integer existing = docOf.get(view.id());
+        if (existing != null) {
+            TodoView previous = docs[existing];
+            docs[existing] = view;
+            if (!previous.name().equals(view.name())) {
+                indexName(view.name(), existing);
+                staleCount++;
+                compactIfMostlyGarbage();
+            }
+            return;
+        }
+
+        if (lastAppended != null && KEYSET_ORDER.compare(view, lastAppended) < 0) {
+            ordered = false;
+        }
+        if (docCount == docs.length) {
+            docs = Arrays.copyOf(docs, docCount * 2);
+        }
+        int doc = docCount++;
+        docs[doc] = view;
+        docOf.put(view.id(), doc);
+        lastAppended = view;
+        indexName(view.name(), doc);
+    }
+
+    void remove(UUID id) {
+        Integer doc = docOf.remove(id);
+        if (doc == null) {
+            return;
+        }
+        docs[doc] = null;
+        deadCount++;
+        compactIfMostlyGarbage();
+    }
+
+    // Adds to out the live todos whose name contains loweredText (lower-cased per char, see lower)
+    // and that pass the filter, in document order
+    // Returns true when out is in (createdAt, id) order, and then it holds at most limit rows;
+    // otherwise it holds every match and the caller has to sort it
+    boolean collect(String loweredText, Predicate<TodoView> filter, int limit, List<TodoView> out) {
+        if (loweredText.length() < 3) {
+            // No trigram to look up: short fragments walk the documents
+            for (int doc = 0; doc < docCount; doc++) {
+                if (accept(doc, loweredText, filter, out) && ordered && out.size() == limit) {
+                    break;
+                }
+            }
+            return ordered;
+        }
+
+        long[] trigrams = distinctTrigrams(loweredText);
+        int[] slots = new int[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            slots[i] = slotOf(trigrams[i]);
+            if (keys[slots[i]] == EMPTY) {
+                return true;
+            }
+        }
+        sortBySize(slots);
+
+        // Lazy intersection: walk the rarest posting list and look each document up in the others
+        // (galloping forward), so a page of common matches stops after limit rows
+        int[] rarest = postings[slots[0]];
+        int[] positions = new int[slots.length];
+        candidates:
+        for (int i = 0; i < sizes[slots[0]]; i++) {
+            int doc = rarest[i];
+            for (int j = 1; j < slots.length; j++) {
+                int[] posting = postings[slots[j]];
+                int size = sizes[slots[j]];
+                positions[j] = advance(posting, size, positions[j], doc);
+                if (positions[j] == size) {
+                    break candidates;
+                }
+                if (posting[positions[j]] != doc) {
+                    continue candidates;
+                }
+            }
+            if (accept(doc, loweredText, filter, out) && ordered && out.size() == limit) {
+                break;
+            }
+        }
+        return ordered;
+    }
+
+    // Renumbers the live documents in (createdAt, id) order and rebuilds the postings without
+    // dead documents or stale trigrams
+    void compact() {
+        TodoView[] live = new TodoView[docOf.size()];
+        int n = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docs[doc] != null) {
+                live[n++] = docs[doc];
+            }
+        }
+        Arrays.sort(live, KEYSET_ORDER);
+
+        docs = new TodoView[Math.max(8, live.length)];
+        docCount = 0;
+        deadCount = 0;
+        staleCount = 0;
+        lastAppended = null;
+        ordered = true;
+        docOf.clear();
+        trigramCount = 0;
+        resetTrigrams(16);
+        for (TodoView view : live) {
+            put(view);
+        }
+    }
+
+    static String lower(String text) {
+        StringBuilder lowered = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            lowered.append(Character.toLowerCase(text.charAt(i)));
+        }
+        return lowered.toString();
+    }
+
+    static int compareUuid(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private boolean accept(int doc, String loweredText, Predicate<TodoView> filter, List<TodoView> out) {
+        TodoView view = docs[doc];
+        if (view != null && containsLowered(view.name(), loweredText) && filter.test(view)) {
+            out.add(view);
+            return true;
+        }
+        return false;
+    }
+
+    private void compactIfMostlyGarbage() {
+        int live = docOf.size();
+        if ((deadCount >= COMPACT_MIN_GARBAGE && deadCount > live)
+                || (staleCount >= COMPACT_MIN_GARBAGE && staleCount > live)) {
+            compact();
+        }
+    }
+
+    private static boolean containsLowered(String name, String loweredText) {
+        int last = name.length() - loweredText.length();
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < loweredText.length()
+                    && Character.toLowerCase(name.charAt(start + i)) == loweredText.charAt(i)) {
+                i++;
+            }
+            if (i == loweredText.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long trigramAt(String name, int start) {
+        return ((long) Character.toLowerCase(name.charAt(start)) << 32)
+                | ((long) Character.toLowerCase(name.charAt(start + 1)) << 16)
+                | Character.toLowerCase(name.charAt(start + 2));
+    }
+
+    // Distinct trigrams of the query (a repeated trigram would only repeat a lookup)
+    private static long[] distinctTrigrams(String loweredText) {
+        long[] trigrams = new long[loweredText.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = trigramAt(loweredText, i);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    // Insertion sort: a query has only a handful of trigrams
+    private void sortBySize(int[] slots) {
+        for (int i = 1; i < slots.length; i++) {
+            int slot = slots[i];
+            int j = i - 1;
+            while (j >= 0 && sizes[slots[j]] > sizes[slot]) {
+                slots[j + 1] = slots[j];
+                j--;
+            }
+            slots[j + 1] = slot;
+        }
+    }
+
+    // First position >= from whose document is >= doc (size when there is none):
+    // exponential steps, then a binary search inside the last step
+    private static int advance(int[] posting, int size, int from, int doc) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && posting[high] < doc) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(posting, low, Math.min(high + 1, size), doc);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private void indexName(String name, int doc) {
+        for (int start = 0; start + 3 <= name.length(); start++) {
+            long key = trigramAt(name, start);
+            int slot = slotOf(key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                postings[slot] = new int[2];
+                trigramCount++;
+            }
+            addPosting(slot, doc);
+            if (trigramCount * 4 > keys.length * 3) {
+                growTrigrams();
+            }
+        }
+    }
+
+    // Appends in the common case (new document); a renamed document is inserted at its sorted place
+    private void addPosting(int slot, int doc) {
+        int size = sizes[slot];
+        int[] posting = postings[slot];
+        int at = size;
+        if (size > 0 && posting[size - 1] >= doc) {
+            int found = Arrays.binarySearch(posting, 0, size, doc);
+            if (found >= 0) {
+                return; // trigram repeated within the same name, or kept from a previous name
+            }
+            at = -found - 1;
+        }
+        if (size == posting.length) {
+            posting = Arrays.copyOf(posting, size * 2);
+            postings[slot] = posting;
+        }
+        System.arraycopy(posting, at, posting, at + 1, size - at);
+        posting[at] = doc;
+        sizes[slot] = size + 1;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void growTrigrams() {
+        long[] oldKeys = keys;
+        int[][] oldPostings = postings;
+        int[] oldSizes = sizes;
+        resetTrigrams(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                postings[slot] = oldPostings[i];
+                sizes[slot] = oldSizes[i];
+            }
+        }
+    }
+
+    private void resetTrigrams(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        postings = new int[capacity][];
+        sizes = new int[capacity];
+    }
+
+}
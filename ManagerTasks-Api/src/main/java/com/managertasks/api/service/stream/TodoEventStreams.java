@@ -0,0 +1,236 @@
+package com.managertasks.api.service.stream;
+
+import com.managertasks.api.service.event.TodoChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// TodoEventStreams - Server-Sent Events push of todo changes, one stream per connection
+//
+// Lifecycle of a change:
+// 1) A service publishes TodoChangedEvent; database events arrive here after commit
+// 2) The event is serialized to JSON once and queued on every open stream of its user
+// 3) Each stream sends its queue on a virtual thread, so a slow socket only blocks its own sender
+//
+// Resource Explanation:
+// - An idle stream is the SseEmitter plus a Subscriber with no queue: the per-stream buffer is
+//   allocated on the first queued event and released again when it has been sent
+// - The buffer is bounded (buffer-size events); a client that falls that far behind is dropped
+//   and is expected to reconnect and catch up through the delta-sync endpoint
+// - Servlet async I/O holds no thread per connection; heartbeats keep proxies from closing idle
+//   streams and detect dead ones
+@Component
+public class TodoEventStreams implements MeterBinder {
+
+    @Value("${todo.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${todo.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Shared immutable event: the same instance is queued on every subscriber of the user
+    private record StreamEvent(String name, String data) {
+    }
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(null, null);
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final LongAdder droppedStreams = new LongAdder();
+
+    // Opens a stream for the user; the emitter is completed on timeout, error or overflow
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.compute(userId, (key, set) -> {
+            Set<Subscriber> streams = set != null ? set : ConcurrentHashMap.newKeySet();
+            streams.add(subscriber);
+            return streams;
+        });
+        openStreams.incrementAndGet();
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        // First event: makes the response start right away so the client knows it is connected
+        subscriber.enqueue(HEARTBEAT);
+        return emitter;
+    }
+
+    // Runs after the writing transaction commits (or right away for the in-memory backend)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        Set<Subscriber> streams = subscribers.get(event.userId());
+        if (streams == null || streams.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("source", event.source().name().toLowerCase(Locale.ROOT));
+        payload.put("type", event.type().name().toLowerCase(Locale.ROOT));
+        payload.put("todoId", event.todoId());
+        payload.put("todo", event.todo());
+        StreamEvent streamEvent = new StreamEvent(
+                event.type().name().toLowerCase(Locale.ROOT), objectMapper.writeValueAsString(payload));
+
+        for (Subscriber subscriber : streams) {
+            subscriber.enqueue(streamEvent);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${todo.events.heartbeat-ms:20000}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                subscriber.enqueue(HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                subscriber.emitter.complete();
+            }
+        }
+        senders.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todo.events.streams", openStreams, AtomicInteger::get)
+                .description("Open todo event streams")
+                .register(registry);
+        FunctionCounter.builder("todo.events.streams.dropped", droppedStreams, LongAdder::sum)
+                .description("Todo event streams closed because the client fell behind")
+                .register(registry);
+    }
+
+    private final class Subscriber {
+
+        private final String userId;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Guarded by lock; queue is null while nothing is waiting to be sent
+        private ArrayDeque<StreamEvent> queue;
+        private boolean sending;
+        private boolean closed;
+
+        private Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(StreamEvent event) {
+            boolean startSender = false;
+            boolean overflow = false;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (queue == null) {
+                    queue = new ArrayDeque<>(4);
+                }
+                if (queue.size() >= bufferSize) {
+                    overflow = true;
+                } else {
+                    queue.add(event);
+                    startSender = !sending;
+                    sending = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (overflow) {
+                droppedStreams.increment();
+                close();
+                emitter.complete();
+            } else if (startSender) {
+                senders.execute(this::sendQueued);
+            }
+        }
+
+        private void sendQueued() {
+            while (true) {
+                StreamEvent event;
+                lock.lock();
+                try {
+                    if (closed || queue == null || queue.isEmpty()) {
+                        sending = false;
+                        queue = null;
+                        return;
+                    }
+                    event = queue.poll();
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException ex) {
+                    // Client went away (or the emitter already completed): stop sending to it
+                    close();
+                    return;
+                }
+            }
+        }
+
+        // Idempotent: unregisters the stream and frees its buffer
+        private void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue = null;
+            } finally {
+                lock.unlock();
+            }
+            subscribers.computeIfPresent(userId, (key, streams) -> {
+                streams.remove(this);
+                return streams.isEmpty() ? null : streams;
+            });
+            openStreams.decrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.managertasks.api.controller;
+
+import com.managertasks.api.exception.GlobalExceptionHandler;
+import com.managertasks.api.security.AuthenticatedUser;
+import com.managertasks.api.service.TodoServicePostgreSQL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Invalid client input on the database endpoints must come back as 400 (or, for batches, as an
+// INVALID item result), never as the 500 of the catch-all handler
+// Standalone MockMvc: only the controller, GlobalExceptionHandler and the principal resolver are
+// wired; the service is a mock whose validating methods run their real code
+class ManagerTodoControllerValidationTest {
+
+    private static final UUID USER_ID = UUID.fromString("1d9e42fa-cf00-40ee-969e-fadf9cb86cb6");
+
+    private TodoServicePostgreSQL todoService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        todoService = mock(TodoServicePostgreSQL.class);
+        ManagerTodoController controller = new ManagerTodoController();
+        ReflectionTestUtils.setField(controller, "todoServicePostgreSQL", todoService);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "a@x.io");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createWithUnknownPriorityIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/todo/database")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Write report\",\"priority\":\"urgent\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.priority").exists());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void createWithTooLongNameIsBadRequest() throws Exception {
+        String name = "x".repeat(256);
+        mockMvc.perform(post("/api/v1/todo/database")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"priority\":\"low\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.name").exists());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void updateWithUnknownPriorityIsBadRequest() throws Exception {
+        mockMvc.perform(put("/api/v1/todo/database/" + UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Write report\",\"priority\":\"HIGH!\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.priority").exists());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void batchItemWithUnknownPriorityIsReportedAsInvalid() throws Exception {
+        when(todoService.createTodos(anyString(), anyList())).thenCallRealMethod();
+
+        mockMvc.perform(post("/api/v1/todo/database/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Write report\",\"priority\":\"urgent\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("INVALID"));
+    }
+
+    @Test
+    void listWithUnknownPriorityIsBadRequest() throws Exception {
+        when(todoService.getTodosETag(any())).thenReturn("\"1\"");
+        doCallRealMethod().when(todoService).getTodosPageByUserId(any(), any(), any(), any(), any());
+
+        mockMvc.perform(get("/api/v1/todo/all/database").param("priority", "urgent"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid priority: use low, medium or high"));
+    }
+
+    @Test
+    void listWithMalformedCursorIsBadRequestEvenWhenTheETagMatches() throws Exception {
+        when(todoService.getTodosETag(any())).thenReturn("\"1\"");
+
+        mockMvc.perform(get("/api/v1/todo/all/database")
+                        .param("cursor", "not a cursor")
+                        .header("If-None-Match", "\"1\""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void malformedBodyIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/todo/database")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Write report\",\"priority\":\"low\",\"completed\":\"maybe\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoService);
+    }
+
+}
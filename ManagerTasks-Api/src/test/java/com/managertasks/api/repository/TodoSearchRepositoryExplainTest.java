@@ -0,0 +1,305 @@
+package com.managertasks.api.repository;
+
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.entity.PriorityEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Opt-in: needs a PostgreSQL database with the migrations of database/migrations applied
+//
+// Usage: mvn test -Dtest=TodoSearchRepositoryExplainTest \
+//        -Dexplain.db.url=jdbc:postgresql://localhost:5432/managertasks_db \
+//        [-Dexplain.db.username=admin] [-Dexplain.db.password=admin123456]
+//
+// Every combination of the search filters (status, priority, name text, created range, updated
+// range; with and without a keyset cursor) runs through TodoRepository.search, and the exact
+// statement Hibernate prepared is replayed as EXPLAIN with the same bind values: the plan must read
+// todos through one of its indexes and never by a sequential scan
+// - 40 users with 5,000 todos each are inserted (and analyzed) before the run and deleted after it,
+//   so one user's rows are a small slice of the table, as in production
+// - The SQL and bind values are recorded by a DataSource wrapper (RecordingDataSource) instead of
+//   being rebuilt here, so the test keeps following TodoSearchRepositoryImpl
+@EnabledIfSystemProperty(named = "explain.db.url", matches = ".+")
+class TodoSearchRepositoryExplainTest {
+
+    private static final String EMAIL_PREFIX = "explain-test-";
+    private static final int USERS = 40;
+    private static final int TODOS_PER_USER = 5_000;
+    private static final int LIMIT = 51;
+    private static final List<String> FILTERS = List.of("status", "priority", "text", "created", "updated");
+
+    private static final Set<String> INDEX_SCANS = Set.of("Index Scan", "Index Only Scan", "Bitmap Index Scan");
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    // Last SELECT prepared through the recording DataSource (the test runs on one thread)
+    private static volatile RecordedStatement lastSelect;
+
+    private static ConfigurableApplicationContext context;
+    private static TodoRepository todoRepository;
+    private static DataSource dataSource;
+    private static UUID userId;
+    private static Set<String> todoIndexes;
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackages = "com.managertasks.api")
+    static class RepositoryContext {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource target ? RecordingDataSource.wrap(target) : bean;
+                }
+            };
+        }
+
+    }
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        context = new SpringApplicationBuilder(RepositoryContext.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=" + System.getProperty("explain.db.url"),
+                        "--spring.datasource.username=" + System.getProperty("explain.db.username", "admin"),
+                        "--spring.datasource.password=" + System.getProperty("explain.db.password", "admin123456"),
+                        "--logging.level.root=WARN");
+        todoRepository = context.getBean(TodoRepository.class);
+        dataSource = context.getBean(DataSource.class);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            deleteTestUsers(statement);
+            statement.executeUpdate("INSERT INTO users (name, email, password) "
+                    + "SELECT 'Explain ' || u, '" + EMAIL_PREFIX + "' || u || '@example.com', 'not-a-hash' "
+                    + "FROM generate_series(1, " + USERS + ") u");
+            // Names cycle through 10 words, priorities through 3, half of the todos are completed;
+            // created_at spreads over 2025, updated_at follows it by up to a month
+            statement.executeUpdate("INSERT INTO todos (name, priority, completed, created_at, updated_at, user_id) "
+                    + "SELECT (ARRAY['report','invoice','meeting','review','deploy','backup','design','budget',"
+                    + "'hiring','audit'])[1 + n % 10] || ' task ' || n, "
+                    + "(ARRAY['low','medium','high'])[1 + n % 3]::priority_enum, n % 2 = 0, "
+                    + "TIMESTAMP '2025-01-01' + (n * 97 % " + TODOS_PER_USER + ") * INTERVAL '100 minutes', "
+                    + "TIMESTAMP '2025-01-01' + (n * 97 % " + TODOS_PER_USER + ") * INTERVAL '100 minutes' "
+                    + "+ (n % 30) * INTERVAL '1 day', u.id "
+                    + "FROM users u CROSS JOIN generate_series(1, " + TODOS_PER_USER + ") n "
+                    + "WHERE u.email LIKE '" + EMAIL_PREFIX + "%'");
+            statement.execute("ANALYZE todos");
+
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT id FROM users WHERE email = '" + EMAIL_PREFIX + "1@example.com'")) {
+                rows.next();
+                userId = rows.getObject(1, UUID.class);
+            }
+            todoIndexes = new HashSet<>();
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = 'todos'")) {
+                while (rows.next()) {
+                    todoIndexes.add(rows.getString(1));
+                }
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (context == null) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            deleteTestUsers(statement);
+        } finally {
+            context.close();
+        }
+    }
+
+    // ON DELETE CASCADE removes their todos and counters; the tombstone trigger skips them
+    private static void deleteTestUsers(Statement statement) throws SQLException {
+        statement.executeUpdate("DELETE FROM users WHERE email LIKE '" + EMAIL_PREFIX + "%'");
+    }
+
+    // All 32 filter combinations, each with and without a cursor
+    static Stream<Arguments> filterCombinations() {
+        return IntStream.range(0, 64).mapToObj(mask -> {
+            boolean status = (mask & 1) != 0;
+            boolean priority = (mask & 2) != 0;
+            boolean text = (mask & 4) != 0;
+            boolean created = (mask & 8) != 0;
+            boolean updated = (mask & 16) != 0;
+            boolean cursor = (mask & 32) != 0;
+            TodoSearchCriteria criteria = new TodoSearchCriteria(
+                    status ? Boolean.TRUE : null,
+                    priority ? PriorityEnum.high : null,
+                    text ? "report" : null,
+                    created ? Instant.parse("2025-04-01T00:00:00Z") : null,
+                    created ? Instant.parse("2025-07-01T00:00:00Z") : null,
+                    updated ? Instant.parse("2025-05-01T00:00:00Z") : null,
+                    updated ? Instant.parse("2025-06-01T00:00:00Z") : null);
+            String filters = IntStream.range(0, FILTERS.size())
+                    .filter(bit -> (mask & 1 << bit) != 0)
+                    .mapToObj(FILTERS::get)
+                    .collect(Collectors.joining(" + "));
+            String label = (filters.isEmpty() ? "user only" : filters) + (cursor ? " + cursor" : "");
+            return Arguments.of(label, criteria, cursor);
+        });
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void everyFilterCombinationReadsTodosThroughAnIndex(String label, TodoSearchCriteria criteria, boolean cursor)
+            throws Exception {
+        lastSelect = null;
+        todoRepository.search(userId, criteria,
+                cursor ? Instant.parse("2025-03-01T00:00:00Z") : null,
+                cursor ? new UUID(0L, 0L) : null,
+                LIMIT);
+        RecordedStatement select = lastSelect;
+        assertThat(select).as("SQL of the search").isNotNull();
+
+        String plan = explain(select);
+        List<JsonNode> nodes = new ArrayList<>();
+        collectNodes(JSON.readTree(plan).get(0).get("Plan"), nodes);
+
+        assertThat(nodes)
+                .as("%s: no sequential scan of todos%n%s%n%s", label, select.sql, plan)
+                .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asString())
+                        && "todos".equals(node.path("Relation Name").asString()));
+        assertThat(nodes)
+                .as("%s: todos read through one of its indexes %s%n%s%n%s", label, todoIndexes, select.sql, plan)
+                .anyMatch(node -> INDEX_SCANS.contains(node.path("Node Type").asString())
+                        && todoIndexes.contains(node.path("Index Name").asString()));
+    }
+
+    // Same statement, same bind calls, prefixed with EXPLAIN
+    private static String explain(RecordedStatement select) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + select.sql)) {
+            for (RecordedStatement.Bind bind : select.binds) {
+                bind.method().invoke(statement, bind.args());
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getString(1);
+            }
+        }
+    }
+
+    private static void collectNodes(JsonNode node, List<JsonNode> out) {
+        out.add(node);
+        JsonNode children = node.path("Plans");
+        for (int i = 0; i < children.size(); i++) {
+            collectNodes(children.get(i), out);
+        }
+    }
+
+    // SQL text and parameter setter calls (setObject, setString, ...) of one prepared SELECT
+    private static final class RecordedStatement {
+
+        private record Bind(Method method, Object[] args) {
+        }
+
+        private final String sql;
+        private final List<Bind> binds = new ArrayList<>();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+    }
+
+    // JDK proxies around the pool's DataSource, its connections and their prepared SELECTs; every
+    // other call goes straight to the real object
+    private static final class RecordingDataSource {
+
+        private RecordingDataSource() {
+        }
+
+        static DataSource wrap(DataSource target) {
+            return proxy(DataSource.class, (method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+
+        private static Connection wrap(Connection target) {
+            return proxy(Connection.class, (method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                        && ((String) args[0]).stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                    RecordedStatement recorded = new RecordedStatement((String) args[0]);
+                    lastSelect = recorded;
+                    return wrap(statement, recorded);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement target, RecordedStatement recorded) {
+            return proxy(PreparedStatement.class, (method, args) -> {
+                // Parameter setters: setXxx(int parameterIndex, value, ...)
+                if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && method.getParameterTypes()[0] == int.class) {
+                    recorded.binds.add(new RecordedStatement.Bind(method, args.clone()));
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                    (proxy, method, args) -> handler.handle(method, args)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+
+    }
+
+}
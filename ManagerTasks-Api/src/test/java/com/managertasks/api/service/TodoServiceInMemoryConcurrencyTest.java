@@ -0,0 +1,349 @@
+package com.managertasks.api.service;
+
+import com.managertasks.api.dto.request.TodoBatchUpdate;
+import com.managertasks.api.dto.request.TodoRecord;
+import com.managertasks.api.dto.response.TodoBatchResult;
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.service.event.TodoChangedEvent;
+import com.managertasks.api.service.inmemory.IdPostingList;
+import com.managertasks.api.service.inmemory.TodoEntry;
+import com.managertasks.api.service.inmemory.TodoIndex;
+import com.managertasks.api.service.inmemory.TodoStore;
+import com.managertasks.api.service.inmemory.UserDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Stress test: many threads create, update (including re-owning), delete and batch-write the same
+// todos at once; afterwards the store and every secondary index set must describe the same todos
+class TodoServiceInMemoryConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 5_000;
+    private static final int SEED_TODOS = 1_000;
+    private static final int BATCH_SIZE = 5;
+    private static final int RACE_TODOS = 20_000;
+    private static final List<String> USERS = List.of(
+            UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    private static final PriorityEnum[] PRIORITIES = PriorityEnum.values();
+
+    private TodoServiceInMemory service;
+    private TodoStore store;
+    private TodoIndex index;
+    private UserDictionary users;
+    private final AtomicLong highestId = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        service = new TodoServiceInMemory();
+        ReflectionTestUtils.setField(service, "objectMapper", JsonMapper.builder().build());
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> {
+        });
+        store = (TodoStore) ReflectionTestUtils.getField(service, "todoStore");
+        index = (TodoIndex) ReflectionTestUtils.getField(store, "index");
+        users = (UserDictionary) ReflectionTestUtils.getField(store, "users");
+    }
+
+    @Test
+    void concurrentWritesKeepStoreAndIndexesConsistent() throws Exception {
+        for (int i = 0; i < SEED_TODOS; i++) {
+            create(ThreadLocalRandom.current());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                        applyRandomOperation(random);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertIndexesMatchStore();
+    }
+
+    // A batch by the old owner racing with a move of the same todos to another user must never
+    // change (or take back) a todo the old owner no longer has: every moved todo stays with the new owner
+    @Test
+    void batchUpdateNeverWritesTodosMovedToAnotherUser() throws Exception {
+        String previousOwner = USERS.get(0);
+        String newOwner = USERS.get(1);
+        List<Long> ids = seed(previousOwner, RACE_TODOS);
+
+        race(() -> {
+            for (long id : ids) {
+                service.updateTodo(id, new TodoRecord("Moved", "high", false, newOwner));
+            }
+        }, () -> {
+            for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+                List<TodoBatchUpdate> updates = new ArrayList<>(BATCH_SIZE);
+                for (long id : ids.subList(start, Math.min(start + BATCH_SIZE, ids.size()))) {
+                    updates.add(new TodoBatchUpdate(Long.toString(id), "Batch", "low", true));
+                }
+                service.updateTodos(previousOwner, updates);
+            }
+        });
+
+        for (long id : ids) {
+            TodoEntry entry = store.get(id);
+            assertThat(store.userIdOf(entry)).as("owner of todo %d", id).isEqualTo(newOwner);
+            assertThat(entry.name()).as("name of todo %d", id).isEqualTo("Moved");
+        }
+        assertIndexesMatchStore();
+    }
+
+    // A todo is either moved to the new owner or deleted by the old owner's batch, never both
+    @Test
+    void batchDeleteNeverRemovesTodosMovedToAnotherUser() throws Exception {
+        String previousOwner = USERS.get(0);
+        String newOwner = USERS.get(1);
+        List<Long> ids = seed(previousOwner, RACE_TODOS);
+        Set<Long> moved = ConcurrentHashMap.newKeySet();
+        Set<Long> deleted = ConcurrentHashMap.newKeySet();
+
+        race(() -> {
+            for (long id : ids) {
+                try {
+                    service.updateTodo(id, new TodoRecord("Moved", "high", false, newOwner));
+                    moved.add(id);
+                } catch (IllegalArgumentException notFound) {
+                    // already deleted by the batch
+                }
+            }
+        }, () -> {
+            for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+                List<String> chunk = ids.subList(start, Math.min(start + BATCH_SIZE, ids.size())).stream()
+                        .map(String::valueOf)
+                        .toList();
+                for (TodoBatchResult result : service.deleteTodos(previousOwner, chunk).results()) {
+                    if (result.status() == TodoBatchResult.Status.DELETED) {
+                        deleted.add(Long.valueOf(result.id()));
+                    }
+                }
+            }
+        });
+
+        for (long id : ids) {
+            assertThat(moved.contains(id) ^ deleted.contains(id)).as("todo %d moved xor deleted", id).isTrue();
+            assertThat(store.get(id) != null).as("todo %d present", id).isEqualTo(moved.contains(id));
+        }
+        assertIndexesMatchStore();
+    }
+
+    // Concurrent moves of one todo between users: every DELETED event names the owner the todo was
+    // actually moved away from, so the moves it reports form a single chain from the first owner to
+    // the last one (each user is left once more than entered, or the other way round, only at the ends)
+    @Test
+    void moveEventsNameTheOwnerTheTodoLeft() throws Exception {
+        ThreadLocal<String> leftOwner = new ThreadLocal<>();
+        Map<String, AtomicLong> left = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> entered = new ConcurrentHashMap<>();
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> {
+            TodoChangedEvent changed = (TodoChangedEvent) event;
+            if (changed.type() == TodoChangedEvent.Type.DELETED) {
+                leftOwner.set(changed.userId());
+            } else if (changed.type() == TodoChangedEvent.Type.UPDATED && leftOwner.get() != null) {
+                assertThat(leftOwner.get()).isNotEqualTo(changed.userId());
+                left.computeIfAbsent(leftOwner.get(), user -> new AtomicLong()).incrementAndGet();
+                entered.computeIfAbsent(changed.userId(), user -> new AtomicLong()).incrementAndGet();
+                leftOwner.remove();
+            }
+        });
+        String firstOwner = USERS.get(0);
+        long id = seed(firstOwner, 1).get(0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                        service.updateTodo(id, randomRecord(random, randomUser(random)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String lastOwner = store.userIdOf(store.get(id));
+        for (String userId : USERS) {
+            long balance = count(left, userId) - count(entered, userId);
+            long expected = (userId.equals(firstOwner) ? 1 : 0) - (userId.equals(lastOwner) ? 1 : 0);
+            assertThat(balance).as("moves away from %s minus moves to it", userId).isEqualTo(expected);
+        }
+    }
+
+    private static long count(Map<String, AtomicLong> counts, String userId) {
+        AtomicLong count = counts.get(userId);
+        return count != null ? count.get() : 0;
+    }
+
+    private List<Long> seed(String userId, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> created = (Map<String, Object>) service.createTodo(
+                    new TodoRecord("Todo " + i, "medium", false, userId));
+            ids.add((Long) created.get("id"));
+        }
+        return ids;
+    }
+
+    private static void race(Runnable first, Runnable second) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> one = executor.submit(() -> {
+                start.await();
+                first.run();
+                return null;
+            });
+            Future<?> two = executor.submit(() -> {
+                start.await();
+                second.run();
+                return null;
+            });
+            start.countDown();
+            one.get(60, TimeUnit.SECONDS);
+            two.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void applyRandomOperation(ThreadLocalRandom random) {
+        switch (random.nextInt(5)) {
+            case 0 -> create(random);
+            case 1 -> {
+                try {
+                    service.updateTodo(randomId(random), randomRecord(random, randomUser(random)));
+                } catch (IllegalArgumentException notFound) {
+                    // deleted by another thread
+                }
+            }
+            case 2 -> {
+                try {
+                    service.deleteTodo(randomId(random));
+                } catch (IllegalArgumentException notFound) {
+                    // deleted by another thread
+                }
+            }
+            case 3 -> {
+                List<TodoBatchUpdate> updates = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    TodoRecord record = randomRecord(random, null);
+                    updates.add(new TodoBatchUpdate(Long.toString(randomId(random)), record.name(),
+                            record.priority(), record.completed()));
+                }
+                service.updateTodos(randomUser(random), updates);
+            }
+            default -> {
+                List<String> ids = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    ids.add(Long.toString(randomId(random)));
+                }
+                service.deleteTodos(randomUser(random), ids);
+            }
+        }
+    }
+
+    private void create(ThreadLocalRandom random) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> created = (Map<String, Object>) service.createTodo(
+                randomRecord(random, randomUser(random)));
+        highestId.accumulateAndGet((Long) created.get("id"), Math::max);
+    }
+
+    private void assertIndexesMatchStore() {
+        List<TodoEntry> entries = new ArrayList<>(store.values());
+        assertThat(entries).isNotEmpty();
+
+        Set<Long> allIds = entries.stream().map(TodoEntry::id).collect(Collectors.toCollection(TreeSet::new));
+        assertThat(idSet(index.all())).isEqualTo(allIds);
+
+        byte[] completedKeys = { TodoIndex.ANY, 0, 1 };
+        for (String userId : USERS) {
+            int userRef = users.find(userId);
+            for (byte completed : completedKeys) {
+                for (byte priority = TodoIndex.ANY; priority < PRIORITIES.length; priority++) {
+                    Set<Long> expected = new TreeSet<>();
+                    for (TodoEntry entry : entries) {
+                        if (userId.equals(store.userIdOf(entry))
+                                && (completed == TodoIndex.ANY || entry.completed() == (completed == 1))
+                                && (priority == TodoIndex.ANY || entry.priority().ordinal() == priority)) {
+                            expected.add(entry.id());
+                        }
+                    }
+                    assertThat(idSet(index.find(userRef, completed, priority)))
+                            .as("index (user %s, completed %d, priority %d)", userId, completed, priority)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    private static Set<Long> idSet(IdPostingList ids) {
+        Set<Long> set = new TreeSet<>();
+        for (long id : ids.toArray()) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    private long randomId(ThreadLocalRandom random) {
+        return random.nextLong(1, highestId.get() + 1);
+    }
+
+    private static String randomUser(ThreadLocalRandom random) {
+        return USERS.get(random.nextInt(USERS.size()));
+    }
+
+    private static TodoRecord randomRecord(ThreadLocalRandom random, String userId) {
+        return new TodoRecord("Todo " + random.nextInt(1_000),
+                PRIORITIES[random.nextInt(PRIORITIES.length)].name(), random.nextBoolean(), userId);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.managertasks.api.service.importer;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoImportReaderTest {
+
+    // A row made only of separators is bounded like any other row: it must not grow one field per
+    // comma (a 1M-comma line would otherwise be returned, and held, as a 1M-field row)
+    @Test
+    void rowOfSeparatorsLongerThanTheLimitIsRejectedAsOversized() throws Exception {
+        String csv = "name,priority\n"
+                + ",".repeat(1_000_000) + "\n"
+                + "Pay rent,high\n";
+        TodoImportReader reader = new TodoImportReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TodoImportFormat.CSV,
+                JsonMapper.builder().build());
+
+        TodoImportRow oversized = reader.next();
+        assertThat(oversized.line()).isEqualTo(2);
+        assertThat(oversized.error()).contains(String.valueOf(TodoImportReader.MAX_ROW_CHARS));
+
+        TodoImportRow next = reader.next();
+        assertThat(next.line()).isEqualTo(3);
+        assertThat(next.name()).isEqualTo("Pay rent");
+        assertThat(next.priority()).isEqualTo("high");
+        assertThat(reader.next()).isNull();
+    }
+
+}
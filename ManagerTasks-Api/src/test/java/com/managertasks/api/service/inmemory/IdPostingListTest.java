@@ -0,0 +1,54 @@
+package com.managertasks.api.service.inmemory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdPostingListTest {
+
+    // Random adds and removes (appends, inserts in the middle, block splits and merges) must keep
+    // the list equal to a TreeSet fed the same operations
+    @Test
+    void matchesASortedSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(7);
+        IdPostingList list = new IdPostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+
+        for (int op = 0; op < 200_000; op++) {
+            long id = op % 3 == 0 ? op : random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(list.remove(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(list.add(id)).isEqualTo(expected.add(id));
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(expected.size());
+        assertThat(list.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        long after = expected.first() + 100;
+        long[] page = list.idsAfter(after, 50);
+        assertThat(page).containsExactly(expected.tailSet(after, false).stream()
+                .limit(50)
+                .mapToLong(Long::longValue)
+                .toArray());
+    }
+
+    @Test
+    void appendsFillBlocksCompletely() {
+        IdPostingList list = new IdPostingList();
+        for (long id = 1; id <= IdPostingList.BLOCK_SIZE * 10L; id++) {
+            list.add(id);
+        }
+        int[] sizes = (int[]) ReflectionTestUtils.getField(list, "sizes");
+        int blockCount = (int) ReflectionTestUtils.getField(list, "blockCount");
+        assertThat(blockCount).isEqualTo(10);
+        assertThat(Arrays.copyOf(sizes, blockCount)).containsOnly(IdPostingList.BLOCK_SIZE);
+        assertThat(list.idsAfter(IdPostingList.BLOCK_SIZE * 10L, 5)).isEmpty();
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.managertasks.api.service.search;
+
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoView;
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.repository.TodoRepository;
+import com.managertasks.api.service.event.TodoChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// An import reloads the user's index from the database outside the index lock; writes whose events
+// arrive while that query runs must survive the swap to the rebuilt index
+class TodoNameIndexTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private TodoRepository todoRepository;
+    private TodoNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository = mock(TodoRepository.class);
+        index = new TodoNameIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "ready", true);
+        ReflectionTestUtils.setField(index, "todoRepository", todoRepository);
+    }
+
+    @Test
+    void reloadReplaysChangesThatArriveDuringTheQuery() {
+        TodoView imported = view("imported report", T0);
+        TodoView deletedMeanwhile = view("old report", T0.plusSeconds(1));
+        TodoView createdMeanwhile = view("new report", T0.plusSeconds(2));
+        TodoView renamedMeanwhile = view("draft report", T0.plusSeconds(3));
+
+        // The query result predates the writes below: it still has deletedMeanwhile and the old name
+        when(todoRepository.findViewsByUserId(USER)).thenAnswer(invocation -> {
+            index.onTodoChanged(event(TodoChangedEvent.Type.DELETED, deletedMeanwhile));
+            index.onTodoChanged(event(TodoChangedEvent.Type.CREATED, createdMeanwhile));
+            index.onTodoChanged(event(TodoChangedEvent.Type.UPDATED, rename(renamedMeanwhile, "final report")));
+            return List.of(imported, deletedMeanwhile, renamedMeanwhile);
+        });
+
+        index.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Source.DATABASE,
+                TodoChangedEvent.Type.IMPORTED, null, USER.toString(), null));
+
+        assertThat(names(search("report")))
+                .containsExactly("imported report", "new report", "final report");
+        assertThat(search("draft")).isEmpty();
+    }
+
+    @Test
+    void failedReloadKeepsTheCurrentIndex() {
+        TodoView existing = view("existing report", T0);
+        index.onTodoChanged(event(TodoChangedEvent.Type.CREATED, existing));
+        when(todoRepository.findViewsByUserId(USER)).thenThrow(new IllegalStateException("database down"));
+
+        try {
+            index.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Source.DATABASE,
+                    TodoChangedEvent.Type.IMPORTED, null, USER.toString(), null));
+        } catch (IllegalStateException expected) {
+            // the listener propagates the failure
+        }
+
+        // Writes after the failed reload are no longer recorded for a replay
+        TodoView later = view("later report", T0.plusSeconds(1));
+        index.onTodoChanged(event(TodoChangedEvent.Type.CREATED, later));
+        assertThat(names(search("report"))).containsExactly("existing report", "later report");
+    }
+
+    private List<TodoView> search(String text) {
+        return index.search(USER, new TodoSearchCriteria(null, null, text, null, null, null, null), null, null, 50);
+    }
+
+    private static List<String> names(List<TodoView> views) {
+        return views.stream().map(TodoView::name).toList();
+    }
+
+    private static TodoView view(String name, Instant createdAt) {
+        return new TodoView(UUID.randomUUID(), name, PriorityEnum.values()[0], false, USER, createdAt, createdAt);
+    }
+
+    private static TodoView rename(TodoView view, String name) {
+        return new TodoView(view.id(), name, view.priority(), view.completed(), view.userId(), view.createdAt(),
+                view.createdAt().plusSeconds(60));
+    }
+
+    private static TodoChangedEvent event(TodoChangedEvent.Type type, TodoView view) {
+        return new TodoChangedEvent(TodoChangedEvent.Source.DATABASE, type, view.id().toString(),
+                view.userId().toString(), type == TodoChangedEvent.Type.DELETED ? null : view);
+    }
+
+}
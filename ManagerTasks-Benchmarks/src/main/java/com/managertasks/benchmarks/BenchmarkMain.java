@@ -0,0 +1,39 @@
+package com.managertasks.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// BenchmarkMain - Entry point of target/benchmarks.jar
+//
+// Usage (from the repository root):
+//   mvn -B package -DskipTests
+//   java -jar ManagerTasks-Benchmarks/target/benchmarks.jar                      all benchmarks
+//   java -jar ManagerTasks-Benchmarks/target/benchmarks.jar Jwt -prof gc         one group + allocation rates
+//   java -jar ManagerTasks-Benchmarks/target/benchmarks.jar -rff results/1.0.0.json
+//
+// Results Explanation:
+// Unless -rf / -rff are given, results are written as JSON to jmh-result.json, so runs of two
+// versions can be compared with any JMH JSON viewer or a plain diff of the scores
+// Any other argument is passed to JMH unchanged (-h lists them)
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add("jmh-result.json");
+        }
+        Main.main(arguments.toArray(String[]::new));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.exception.GlobalExceptionHandler;
+import com.managertasks.api.exception.InvalidCursorException;
+import com.managertasks.api.exception.TodoNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Error body construction (timestamp, status, error, message, path) for the most frequent
+// client errors; the exceptions are created once so only the handler itself is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    // Target of the validation failure below
+    public record SignUp(String email, String password) {
+    }
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private TodoNotFoundException notFound;
+    private InvalidCursorException invalidCursor;
+    private MethodArgumentNotValidException invalidArgument;
+    private RuntimeException unexpected;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/todo/database/42"));
+        notFound = new TodoNotFoundException("Todo not found with ID: 42");
+        invalidCursor = new InvalidCursorException("Invalid cursor");
+        unexpected = new IllegalStateException("boom");
+
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(new SignUp("not-an-email", "weak"), "signUp");
+        errors.rejectValue("email", "Email", "Email must be valid");
+        errors.rejectValue("password", "StrongPassword", "Password is too weak");
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("signUp", SignUp.class), 0);
+        invalidArgument = new MethodArgumentNotValidException(parameter, errors);
+    }
+
+    // Only used to describe the failing parameter of invalidArgument
+    @SuppressWarnings("unused")
+    private void signUp(SignUp signUp) {
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> todoNotFound() {
+        return handler.handleTodoNotFoundException(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> invalidCursor() {
+        return handler.handleInvalidCursorException(invalidCursor, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> validationErrors() {
+        return handler.handleMethodArgumentNotValid(invalidArgument, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> unexpectedError() {
+        return handler.handleGlobalException(unexpected, request);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.security.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// JWT hot path: every authenticated request validates a token in JwtAuthenticationFilter
+// - verifyToken: the verified-token cache hit every request after the first one takes, claims included
+// - legacyValidateAndExtract: baseline, the per-request path before the key, parser and cache were
+//   kept: a fresh key and parser for validateToken and again for getEmailFromToken, parsing twice
+// - validateToken: verifyToken through the boolean check
+// - validateTokenUncached: a token seen for the first time (signature check + claims parsing)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        Fixtures.inject(jwtTokenProvider, "jwtSecret", Fixtures.JWT_SECRET);
+        Fixtures.inject(jwtTokenProvider, "jwtExpiration", 86_400_000L);
+        Fixtures.inject(jwtTokenProvider, "verifiedTokenCacheSize", 10_000L);
+        Fixtures.initialize(jwtTokenProvider);
+        token = jwtTokenProvider.generateToken("user@example.com", UUID.randomUUID().toString());
+        jwtTokenProvider.validateToken(token);
+
+        // Token never put in the cache: an expiration-less token is verified but not cached
+        uncachedToken = Jwts.builder()
+                .subject("user@example.com")
+                .claim("userId", UUID.randomUUID().toString())
+                .signWith(Keys.hmacShaKeyFor(Fixtures.JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken("user@example.com", "5f0c5b1e-6f2a-4d55-8f43-6f0b0b2d7c11");
+    }
+
+    @Benchmark
+    public String verifyToken() {
+        return jwtTokenProvider.verifyToken(token).orElseThrow().email();
+    }
+
+    @Benchmark
+    public String legacyValidateAndExtract() {
+        SecretKey validationKey = Keys.hmacShaKeyFor(Fixtures.JWT_SECRET.getBytes());
+        Jwts.parser()
+            .verifyWith(validationKey)
+            .build()
+            .parseSignedClaims(token);
+
+        SecretKey extractionKey = Keys.hmacShaKeyFor(Fixtures.JWT_SECRET.getBytes());
+        return Jwts.parser()
+            .verifyWith(extractionKey)
+            .build()
+            .parseSignedClaims(token)
+            .getPayload()
+            .getSubject();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return jwtTokenProvider.validateToken(uncachedToken);
+    }
+
+}
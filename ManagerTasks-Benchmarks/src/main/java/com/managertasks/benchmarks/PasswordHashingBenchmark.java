@@ -0,0 +1,85 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.security.PasswordHashingExecutor;
+import com.managertasks.api.security.PasswordHashingExecutor.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt cost of signup (encode) and login (matches), with the encoder configured in SecurityConfig
+// - direct*: hashing on the calling thread, as the request threads did before the hashing pool
+// - pooled*: through PasswordHashingExecutor (one thread per core, bounded queue)
+// SampleTime reports latency percentiles: with AllCores (one caller per core, the pool is saturated)
+// the pooled variants show the queueing delay that the pool trades for keeping request threads free;
+// add "-t <2 x cores>" to simulate a login burst larger than the pool
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Str0ng!Password";
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        hash = passwordEncoder.encode(PASSWORD);
+
+        passwordHashingExecutor = new PasswordHashingExecutor();
+        Fixtures.inject(passwordHashingExecutor, "threads", 0);
+        Fixtures.inject(passwordHashingExecutor, "queueCapacity", 1024);
+        Fixtures.inject(passwordHashingExecutor, "retryAfterSeconds", 1L);
+        Fixtures.inject(passwordHashingExecutor, "meterRegistry", new SimpleMeterRegistry());
+        Fixtures.initialize(passwordHashingExecutor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Benchmark
+    public String directEncode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean directMatches() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public String pooledEncode() {
+        return passwordHashingExecutor.execute(Operation.ENCODE, () -> passwordEncoder.encode(PASSWORD));
+    }
+
+    @Benchmark
+    public boolean pooledMatches() {
+        return passwordHashingExecutor.execute(Operation.MATCH, () -> passwordEncoder.matches(PASSWORD, hash));
+    }
+
+    @Threads(Threads.MAX)
+    public static class AllCores extends PasswordHashingBenchmark {
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.validation.StrongPasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// @StrongPassword check on signup: the regex uses four lookaheads over the whole input,
+// so both accepted and rejected passwords of growing length are measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrongPasswordValidatorBenchmark {
+
+    @Param({ "Str0ng!Pass", "weakpassword", "Str0ng!Pass-with-a-much-longer-tail-0123456789-abcdefghij" })
+    private String password;
+
+    private StrongPasswordValidator validator;
+
+    @Setup
+    public void setUp() {
+        validator = new StrongPasswordValidator();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(password, null);
+    }
+
+}
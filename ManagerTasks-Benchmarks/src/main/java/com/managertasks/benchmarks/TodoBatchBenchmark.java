@@ -0,0 +1,240 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.dto.request.TodoBatchUpdate;
+import com.managertasks.api.dto.request.TodoRecord;
+import com.managertasks.api.dto.response.TodoBatchResponse;
+import com.managertasks.api.dto.response.TodoBatchResult;
+import com.managertasks.api.service.TodoServiceInMemory;
+import com.managertasks.api.service.TodoServicePostgreSQL;
+import com.managertasks.api.service.cache.TodoPageCache;
+import com.managertasks.api.service.cache.TodoVersions;
+import com.managertasks.api.service.search.TodoNameIndex;
+import com.managertasks.benchmarks.data.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// One batch request of "items" todos against the same number of single-item calls, as a client
+// would send them one HTTP request at a time (the HTTP round trip itself is not included)
+// - backend=postgresql: TodoServicePostgreSQL in a slim Spring context (DataSource, JPA, the
+//   repositories and the service with its cache beans; no web server or security). Per-item calls
+//   run one transaction each; a batch runs one transaction with JDBC batching
+// - backend=inmemory: TodoServiceInMemory without durability
+// All todos belong to one benchmark user created for the trial and removed (with its todos and
+// tombstones, ON DELETE CASCADE) in the trial teardown; created todos are cleared after each iteration
+//
+// Usage: java -Dbench.db.url=jdbc:postgresql://localhost:5432/managertasks_db -jar target/benchmarks.jar \
+//        TodoBatchBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoBatchBenchmark {
+
+    @Param({ "postgresql", "inmemory" })
+    private String backend;
+
+    @Param({ "1000" })
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private TodoServicePostgreSQL database;
+    private TodoServiceInMemory memory;
+    private UUID userId;
+
+    private List<TodoRecord> records;
+    private List<String> updateIds;
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackages = "com.managertasks.api")
+    @Import({ TodoServicePostgreSQL.class, TodoPageCache.class, TodoVersions.class, TodoNameIndex.class })
+    static class ServiceContext {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        userId = UUID.randomUUID();
+        records = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            records.add(new TodoRecord("Prepare quarterly report " + i, i % 3 == 0 ? "high" : "low",
+                    i % 4 == 0, userId.toString()));
+        }
+
+        if ("postgresql".equals(backend)) {
+            try (Connection connection = BenchmarkDatabase.connect();
+                    PreparedStatement insert = connection.prepareStatement(
+                            "INSERT INTO users (id, name, email, password) VALUES (?, ?, ?, ?)")) {
+                insert.setObject(1, userId);
+                insert.setString(2, "Batch benchmark");
+                insert.setString(3, "batch-benchmark-" + userId + "@example.com");
+                insert.setString(4, "not-a-password-hash");
+                insert.executeUpdate();
+            }
+            // Passed as command-line arguments: they take precedence over the API's application.properties
+            context = new SpringApplicationBuilder(ServiceContext.class)
+                    .web(WebApplicationType.NONE)
+                    .run(
+                            "--spring.main.banner-mode=off",
+                            "--spring.datasource.url=" + BenchmarkDatabase.url(),
+                            "--spring.datasource.username=" + BenchmarkDatabase.username(),
+                            "--spring.datasource.password=" + BenchmarkDatabase.password(),
+                            "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                            "--todo.name-index.enabled=false",
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.managertasks.api=WARN");
+            database = context.getBean(TodoServicePostgreSQL.class);
+        }
+    }
+
+    // Fresh store (in memory) or an empty todo table for the user (PostgreSQL) per iteration, with
+    // "items" todos for the update benchmarks
+    @Setup(Level.Iteration)
+    public void setUpIteration() throws InterruptedException {
+        if (memory != null) {
+            memory.closePersistence();
+        }
+        if (database == null) {
+            memory = new TodoServiceInMemory();
+            Fixtures.inject(memory, "objectMapper", JsonMapper.builder().build());
+            Fixtures.inject(memory, "eventPublisher", (ApplicationEventPublisher) event -> {
+            });
+            Fixtures.initialize(memory);
+        }
+        updateIds = idsOf(createBatch());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws SQLException {
+        if (database != null) {
+            execute("DELETE FROM todos WHERE user_id = ?");
+            execute("DELETE FROM todo_tombstones WHERE user_id = ?");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, InterruptedException {
+        if (memory != null) {
+            memory.closePersistence();
+        }
+        if (context != null) {
+            context.close();
+            execute("DELETE FROM users WHERE id = ?");
+        }
+    }
+
+    // "items" todos created before each delete invocation, so every invocation deletes as many
+    @State(Scope.Thread)
+    public static class DeleteTargets {
+
+        private List<String> ids;
+
+        @Setup(Level.Invocation)
+        public void create(TodoBatchBenchmark benchmark) {
+            ids = idsOf(benchmark.createBatch());
+        }
+
+    }
+
+    @Benchmark
+    public TodoBatchResponse createBatch() {
+        return database != null
+                ? database.createTodos(userId.toString(), records)
+                : memory.createTodos(userId.toString(), records);
+    }
+
+    @Benchmark
+    public void createPerItem(Blackhole blackhole) {
+        for (TodoRecord todoRecord : records) {
+            blackhole.consume(database != null ? database.createTodo(todoRecord) : memory.createTodo(todoRecord));
+        }
+    }
+
+    @Benchmark
+    public TodoBatchResponse updateBatch() {
+        List<TodoBatchUpdate> updates = new ArrayList<>(updateIds.size());
+        for (int i = 0; i < updateIds.size(); i++) {
+            TodoRecord todoRecord = records.get(i);
+            updates.add(new TodoBatchUpdate(updateIds.get(i), todoRecord.name(), "medium", !todoRecord.completed()));
+        }
+        return database != null
+                ? database.updateTodos(userId.toString(), updates)
+                : memory.updateTodos(userId.toString(), updates);
+    }
+
+    @Benchmark
+    public void updatePerItem(Blackhole blackhole) {
+        for (int i = 0; i < updateIds.size(); i++) {
+            TodoRecord original = records.get(i);
+            TodoRecord todoRecord = new TodoRecord(original.name(), "medium", !original.completed(), userId.toString());
+            blackhole.consume(database != null
+                    ? database.updateTodoByUUID(UUID.fromString(updateIds.get(i)), userId, todoRecord)
+                    : memory.updateTodo(Long.valueOf(updateIds.get(i)), todoRecord));
+        }
+    }
+
+    @Benchmark
+    public TodoBatchResponse deleteBatch(DeleteTargets targets) {
+        return database != null
+                ? database.deleteTodos(userId.toString(), targets.ids)
+                : memory.deleteTodos(userId.toString(), targets.ids);
+    }
+
+    @Benchmark
+    public void deletePerItem(DeleteTargets targets) {
+        for (String id : targets.ids) {
+            if (database != null) {
+                database.deleteTodoByUUID(UUID.fromString(id), userId);
+            } else {
+                memory.deleteTodo(Long.valueOf(id));
+            }
+        }
+    }
+
+    private static List<String> idsOf(TodoBatchResponse response) {
+        List<String> ids = new ArrayList<>(response.results().size());
+        for (TodoBatchResult result : response.results()) {
+            ids.add(result.id());
+        }
+        return ids;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, userId);
+            statement.executeUpdate();
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoView;
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.service.event.TodoChangedEvent;
+import com.managertasks.api.service.search.TodoNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Substring search on todo names for one user with "todos" todos
+// - index: TodoNameIndex.search, the path /search/list?q= takes once the index is built
+// - scan: lower-case contains over every name, what LIKE '%q%' costs without an index
+// The same search in SQL runs in data.RepositoryQueryBenchmark.searchByText (needs PostgreSQL)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoNameIndexBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int todos;
+
+    // Rare (few matches), common (most todos) and short (no trigram, scanned)
+    @Param({ "invoice 4217", "report", "q3" })
+    private String query;
+
+    private final UUID userId = UUID.randomUUID();
+    private TodoNameIndex todoNameIndex;
+    private List<TodoView> views;
+    private TodoSearchCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        todoNameIndex = new TodoNameIndex();
+        Fixtures.inject(todoNameIndex, "enabled", true);
+        Fixtures.inject(todoNameIndex, "ready", true);
+
+        String[] words = { "report", "invoice", "review", "meeting", "deploy", "budget", "q3", "plan" };
+        Instant now = Instant.now();
+        PriorityEnum[] priorities = PriorityEnum.values();
+        views = new ArrayList<>(todos);
+        for (int i = 0; i < todos; i++) {
+            String name = words[i % words.length] + " " + i + " " + words[(i / words.length) % words.length];
+            TodoView view = new TodoView(UUID.randomUUID(), name, priorities[i % priorities.length], i % 4 == 0,
+                    userId, now.minusSeconds(todos - i), now);
+            views.add(view);
+            todoNameIndex.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Source.DATABASE,
+                    TodoChangedEvent.Type.CREATED, view.id().toString(), userId.toString(), view));
+        }
+        criteria = TodoSearchCriteria.of(null, null, query, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<TodoView> index() {
+        return todoNameIndex.search(userId, criteria, null, null, 51);
+    }
+
+    @Benchmark
+    public List<TodoView> scan() {
+        String lowered = query.toLowerCase(Locale.ROOT);
+        List<TodoView> matches = new ArrayList<>();
+        for (TodoView view : views) {
+            if (view.name().toLowerCase(Locale.ROOT).contains(lowered)) {
+                matches.add(view);
+                if (matches.size() == 51) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+}
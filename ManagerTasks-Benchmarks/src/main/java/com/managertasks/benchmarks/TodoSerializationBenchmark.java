@@ -0,0 +1,111 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.dto.response.TodoPage;
+import com.managertasks.api.dto.response.TodoView;
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.entity.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Response shaping of todo listings
+// - legacyMap*: the former TodoServicePostgreSQL.convertTodoToMap (entity -> Map.of per row),
+//   kept here as the baseline the TodoView projection replaced
+// - view*: TodoView.of(entity), the path write endpoints use today (reads project straight to TodoView)
+// - *Json: the same rows serialized as a TodoPage body with Jackson
+// Run with "-prof gc" to compare allocation per operation (gc.alloc.rate.norm)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoSerializationBenchmark {
+
+    @Param({ "20", "100", "1000" })
+    private int rows;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private List<Todo> todos;
+    private List<Object> views;
+    private List<Object> maps;
+
+    @Setup
+    public void setUp() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        PriorityEnum[] priorities = PriorityEnum.values();
+        todos = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Todo todo = new Todo("Prepare quarterly report " + i, priorities[i % priorities.length], userId);
+            todo.setId(UUID.randomUUID());
+            todo.setCompleted(i % 4 == 0);
+            todo.setCreatedAt(now.minusSeconds(i));
+            todo.setUpdatedAt(now);
+            todos.add(todo);
+        }
+        views = toViews();
+        maps = toLegacyMaps();
+    }
+
+    @Benchmark
+    public List<Object> legacyMap() {
+        return toLegacyMaps();
+    }
+
+    @Benchmark
+    public List<Object> view() {
+        return toViews();
+    }
+
+    @Benchmark
+    public byte[] legacyMapJson() {
+        return objectMapper.writeValueAsBytes(new TodoPage(maps, null));
+    }
+
+    @Benchmark
+    public byte[] viewJson() {
+        return objectMapper.writeValueAsBytes(new TodoPage(views, null));
+    }
+
+    private List<Object> toViews() {
+        List<Object> result = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            result.add(TodoView.of(todo));
+        }
+        return result;
+    }
+
+    private List<Object> toLegacyMaps() {
+        List<Object> result = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            result.add(Map.of(
+                    "id", todo.getId(),
+                    "name", todo.getName(),
+                    "priority", todo.getPriority().name(),
+                    "completed", todo.getCompleted(),
+                    "userId", todo.getUserId(),
+                    "createdAt", todo.getCreatedAt(),
+                    "updatedAt", todo.getUpdatedAt()));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.dto.request.TodoRecord;
+import com.managertasks.api.dto.response.TodoPage;
+import com.managertasks.api.service.TodoServiceInMemory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// TodoServiceInMemory CRUD under contention
+// The store is shared by all benchmark threads (Scope.Benchmark) and pre-filled with
+// "todos" entries spread over "users" owners; the nested subclasses run the same operations
+// with 1, 4 and one-per-core threads (JMH reports the per-thread average time)
+// durability=wal turns on the write-ahead log + snapshots, so writes include the group commit
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class TodoServiceInMemoryBenchmark {
+
+    @Param({ "none", "wal" })
+    private String durability;
+
+    @Param({ "100000" })
+    private int todos;
+
+    @Param({ "1000" })
+    private int users;
+
+    private TodoServiceInMemory service;
+    private long firstId;
+    private Path persistenceDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        service = new TodoServiceInMemory();
+        Fixtures.inject(service, "objectMapper", JsonMapper.builder().build());
+        Fixtures.inject(service, "eventPublisher", (ApplicationEventPublisher) event -> {
+        });
+        boolean wal = "wal".equals(durability);
+        Fixtures.inject(service, "persistenceEnabled", wal);
+        if (wal) {
+            persistenceDirectory = Files.createTempDirectory("todo-store-benchmark");
+            Fixtures.inject(service, "persistenceDirectory", persistenceDirectory.toString());
+            Fixtures.inject(service, "snapshotIntervalMs", 300_000L);
+        }
+        Fixtures.initialize(service);
+
+        for (int i = 0; i < todos; i++) {
+            Object created = service.createTodo(new TodoRecord("Prepare quarterly report " + i,
+                    i % 3 == 0 ? "high" : "low", i % 4 == 0, userOf(i)));
+            if (i == 0) {
+                firstId = ((Number) ((Map<?, ?>) created).get("id")).longValue();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, IOException {
+        service.closePersistence();
+        if (persistenceDirectory != null) {
+            try (Stream<Path> files = Files.walk(persistenceDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object getTodoById() {
+        return service.getTodoById(randomId());
+    }
+
+    @Benchmark
+    public Object updateTodo() {
+        long id = randomId();
+        return service.updateTodo(id, new TodoRecord("Updated " + id, "medium", Boolean.TRUE,
+                userOf((int) (id - firstId))));
+    }
+
+    @Benchmark
+    public TodoPage getTodosPageByUserId() {
+        return service.getTodosPageByUserId(userOf(ThreadLocalRandom.current().nextInt(users)), null, null,
+                null, 20);
+    }
+
+    // Full lifecycle in one operation keeps the store size constant across iterations
+    @Benchmark
+    public void createUpdateDelete() {
+        String userId = userOf(ThreadLocalRandom.current().nextInt(users));
+        Object created = service.createTodo(new TodoRecord("Short lived", "low", Boolean.FALSE, userId));
+        long id = ((Number) ((Map<?, ?>) created).get("id")).longValue();
+        service.updateTodo(id, new TodoRecord("Short lived", "high", Boolean.TRUE, userId));
+        service.deleteTodo(id);
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(todos);
+    }
+
+    private String userOf(int index) {
+        return "user-" + (index % users);
+    }
+
+    @Threads(4)
+    public static class FourThreads extends TodoServiceInMemoryBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class AllCores extends TodoServiceInMemoryBenchmark {
+    }
+
+}
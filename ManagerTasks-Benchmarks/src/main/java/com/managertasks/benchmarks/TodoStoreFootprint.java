@@ -0,0 +1,163 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.service.inmemory.TodoStore;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// TodoStoreFootprint - Retained heap of the in-memory todo store, per todo, against the original layout
+//
+// Usage (from the repository root):
+//   java -Xmx4g -XX:+UseSerialGC -cp ManagerTasks-Benchmarks/target/benchmarks.jar \
+//        com.managertasks.benchmarks.TodoStoreFootprint --todos=1000000 [--users=1000] \
+//        [--layout=both|compact|baseline] [--breakdown]
+//   10M todos: run one layout per JVM (with the names, the baseline needs ~6 GB of heap, the compact
+//   store ~2.5 GB), e.g. java -Xmx8g -XX:+UseSerialGC ... --todos=10000000 --layout=baseline
+//   --breakdown also needs -Djdk.attach.allowAttachSelf (JOL attaches to its own JVM)
+//
+// Layouts:
+// - compact: TodoStore (TodoEntry records in a ConcurrentHashMap, plus the TodoIndex posting lists)
+// - baseline: the store TodoServiceInMemory had before TodoStore, a HashMap<Long, Map<String, Object>>
+//   holding one HashMap per todo (boxed id, name, priority String, Boolean, userId String and two
+//   Dates). Priority and userId are fresh Strings per todo, as they came out of each request body.
+//   It had no secondary indexes, so the compact figure includes work the baseline did not do.
+//
+// Measurement Explanation:
+// - Heap used after a full GC is read before and after filling a store, so the difference is
+//   exactly what the store retains (entries, map nodes, secondary indexes, boxed ids)
+// - Names are created up front and measured on their own: they depend on the data, not on the
+//   store layout, and are reported separately (both layouts share the same name Strings)
+// - Layouts are filled one after the other with the same random sequence; each store is released
+//   before the next is built
+// - --breakdown walks the store with JOL and prints the retained size by class; the walk itself
+//   needs several times the store's heap, so use it with up to ~1M todos
+// - A serial collector gives the most stable "used after GC" figure
+public final class TodoStoreFootprint {
+
+    private static final PriorityEnum[] PRIORITIES = PriorityEnum.values();
+    private static final String[] VERBS = { "Prepare", "Review", "Send", "Plan", "Fix", "Deploy", "Call", "Write" };
+    private static final String[] NOUNS = { "report", "invoice", "meeting", "release", "budget", "slides" };
+
+    private TodoStoreFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int todos = 1_000_000;
+        int userCount = 1_000;
+        String layout = "both";
+        boolean breakdown = false;
+        for (String arg : args) {
+            if (arg.startsWith("--todos=")) {
+                todos = Integer.parseInt(arg.substring("--todos=".length()));
+            } else if (arg.startsWith("--users=")) {
+                userCount = Integer.parseInt(arg.substring("--users=".length()));
+            } else if (arg.startsWith("--layout=")) {
+                layout = arg.substring("--layout=".length());
+            } else if (arg.equals("--breakdown")) {
+                breakdown = true;
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        if (!layout.equals("both") && !layout.equals("compact") && !layout.equals("baseline")) {
+            throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+
+        Random random = new Random(42);
+        String[] users = new String[userCount];
+        for (int i = 0; i < userCount; i++) {
+            users[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+
+        long baseline = usedAfterGc();
+        String[] names = new String[todos];
+        for (int i = 0; i < todos; i++) {
+            names[i] = VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " #" + i;
+        }
+        long withNames = usedAfterGc();
+
+        // The names array itself (header + one compressed reference per todo) is not name data
+        long nameBytes = withNames - baseline - (16L + 4L * todos);
+        System.out.printf("todos:            %,d (%,d users)%n", todos, userCount);
+        System.out.printf("name strings:     %,d bytes = %.1f bytes/todo (not included below)%n",
+                nameBytes, (double) nameBytes / todos);
+
+        long compactBytes = -1;
+        long baselineBytes = -1;
+        if (!layout.equals("baseline")) {
+            compactBytes = measure("compact", todos, breakdown, withNames,
+                    () -> fillCompact(names, users, new Random(7)));
+        }
+        if (!layout.equals("compact")) {
+            baselineBytes = measure("baseline", todos, breakdown, withNames,
+                    () -> fillBaseline(names, users, new Random(7)));
+        }
+        if (compactBytes > 0 && baselineBytes > 0) {
+            System.out.printf("compact / baseline: %.2f (%.1f bytes/todo saved)%n",
+                    (double) compactBytes / baselineBytes, (double) (baselineBytes - compactBytes) / todos);
+        }
+        Reference.reachabilityFence(names);
+    }
+
+    private static long measure(String layout, int todos, boolean breakdown, long before,
+            Supplier<Object> fill) throws InterruptedException {
+        long started = System.nanoTime();
+        Object store = fill.get();
+        long fillMillis = (System.nanoTime() - started) / 1_000_000;
+        long storeBytes = usedAfterGc() - before;
+        System.out.printf("%-8s store:   %,d bytes = %.1f bytes/todo, filled in %,d ms%n",
+                layout, storeBytes, (double) storeBytes / todos, fillMillis);
+        if (breakdown) {
+            System.out.println(GraphLayout.parseInstance(store).toFootprint());
+        }
+        Reference.reachabilityFence(store);
+        return storeBytes;
+    }
+
+    private static TodoStore fillCompact(String[] names, String[] users, Random random) {
+        TodoStore store = new TodoStore();
+        for (String name : names) {
+            store.insert(name, PRIORITIES[random.nextInt(PRIORITIES.length)], random.nextInt(4) == 0,
+                    users[random.nextInt(users.length)]);
+        }
+        return store;
+    }
+
+    // Same content as TodoServiceInMemory.createTodo stored before TodoStore existed
+    private static Map<Long, Map<String, Object>> fillBaseline(String[] names, String[] users, Random random) {
+        Map<Long, Map<String, Object>> store = new HashMap<>();
+        long id = 1;
+        for (String name : names) {
+            Long todoId = id++;
+            Map<String, Object> todo = new HashMap<>();
+            todo.put("id", todoId);
+            todo.put("name", name);
+            todo.put("priority", new String(PRIORITIES[random.nextInt(PRIORITIES.length)].name()));
+            todo.put("completed", random.nextInt(4) == 0);
+            todo.put("userId", new String(users[random.nextInt(users.length)]));
+            todo.put("createdAt", new Date());
+            todo.put("updatedAt", new Date());
+            store.put(todoId, todo);
+        }
+        return store;
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+            used = Math.min(used, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.managertasks.benchmarks;
+
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.service.inmemory.TodoStore;
+import com.managertasks.api.service.inmemory.TodoStorePersistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Startup recovery of the in-memory store: load the newest snapshot, then replay the log tail
+// written after it (TodoStorePersistence.open), for a snapshot of "entries" todos and a tail of
+// "walTail" records
+// - The trial setup builds the data directory once: the todos are inserted without a journal and
+//   written as one snapshot, then walTail updates spread over the todos are logged (by 64 threads, so
+//   they share group commits) and the store is closed
+// - Every measured recovery opens a fresh copy of that directory (copied in the invocation setup,
+//   outside the measurement), because open() leaves a new empty segment behind
+// - Single-shot mode: each recovery is a cold, one-off operation, as it is at startup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TodoStoreRecoveryBenchmark {
+
+    private static final int LOG_WRITERS = 64;
+
+    @Param({ "100000", "1000000" })
+    private int entries;
+
+    @Param({ "0", "10000", "100000" })
+    private int walTail;
+
+    private Path template;
+    private Path working;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        template = Files.createTempDirectory("todo-recovery-template");
+
+        TodoStore store = new TodoStore();
+        List<String> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            users.add(UUID.randomUUID().toString());
+        }
+        long firstId = 0;
+        for (int i = 0; i < entries; i++) {
+            long id = store.insert("Prepare quarterly report " + i, i % 3 == 0 ? PriorityEnum.high : PriorityEnum.low,
+                    i % 4 == 0, users.get(i % users.size())).id();
+            if (i == 0) {
+                firstId = id;
+            }
+        }
+
+        TodoStorePersistence persistence = TodoStorePersistence.open(store, template, 0);
+        persistence.snapshot();
+        long base = firstId;
+        ExecutorService writers = Executors.newFixedThreadPool(LOG_WRITERS);
+        try {
+            List<Future<?>> updates = new ArrayList<>(walTail);
+            for (int i = 0; i < walTail; i++) {
+                long id = base + Math.floorMod(i * 7919L, entries);
+                String name = "Updated " + i;
+                String owner = users.get(i % users.size());
+                updates.add(writers.submit(() -> store.update(id, name, PriorityEnum.medium, Boolean.TRUE, owner)));
+            }
+            for (Future<?> update : updates) {
+                update.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            writers.shutdown();
+        }
+        persistence.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void copyDirectory() throws IOException {
+        working = Files.createTempDirectory("todo-recovery");
+        try (Stream<Path> files = Files.list(template)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, working.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteCopy() throws IOException {
+        delete(working);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(template);
+    }
+
+    @Benchmark
+    public TodoStore recover() throws Exception {
+        TodoStore store = new TodoStore();
+        TodoStorePersistence persistence = TodoStorePersistence.open(store, working, 0);
+        persistence.close();
+        return store;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+}
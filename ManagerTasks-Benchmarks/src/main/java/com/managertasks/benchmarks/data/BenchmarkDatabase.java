@@ -0,0 +1,31 @@
+package com.managertasks.benchmarks.data;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+// Connection settings of the database the dataset is generated into
+// Defaults match the postgres service of docker-compose.yml; override with
+// -Dbench.db.url=... -Dbench.db.username=... -Dbench.db.password=... (JMH forks inherit them)
+public final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    public static String url() {
+        return System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/managertasks_db");
+    }
+
+    public static String username() {
+        return System.getProperty("bench.db.username", "admin");
+    }
+
+    public static String password() {
+        return System.getProperty("bench.db.password", "admin123456");
+    }
+
+    public static Connection connect() throws SQLException {
+        return DriverManager.getConnection(url(), username(), password());
+    }
+
+}
@@ -0,0 +1,302 @@
+package com.managertasks.benchmarks.data;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.UUID;
+
+// DatasetGenerator - Fills users and todos with a synthetic, skewed dataset (see DatasetSpec)
+//
+// Usage (from the repository root, database migrations applied):
+//   java -cp ManagerTasks-Benchmarks/target/benchmarks.jar \
+//        com.managertasks.benchmarks.data.DatasetGenerator --todos=1000000 [--users=20000] \
+//        [--power-users=3] [--power-user-todos=100000] [--skew=1.1] [--seed=42] [--reset-only]
+//
+// Loading Explanation:
+// - Rows are streamed with COPY ... FROM STDIN (no per-row INSERT round trips), todos in
+//   statements of COPY_CHUNK_ROWS rows so the statement-level stats triggers work on bounded
+//   transition tables
+// - Besides users and todos, each user gets tombstones for 2% of its todo count (delta sync data)
+// - Generated users have e-mails ending in EMAIL_DOMAIN, which is how reset() finds them again;
+//   other rows of the database are never touched
+// - All generated users share the password "Benchmark1!" (hashed once)
+public final class DatasetGenerator {
+
+    public static final String EMAIL_DOMAIN = "@bench.managertasks.local";
+    public static final String PASSWORD = "Benchmark1!";
+
+    private static final int COPY_CHUNK_ROWS = 500_000;
+    private static final int COPY_BUFFER_BYTES = 1 << 20;
+    private static final int TOMBSTONE_RATIO = 50;
+
+    // Todos are created within the year before this instant, updated up to 30 days later
+    private static final Instant END = Instant.parse("2026-01-01T00:00:00Z");
+    private static final long CREATED_SPAN_SECONDS = 365L * 24 * 3600;
+    private static final long UPDATED_SPAN_SECONDS = 30L * 24 * 3600;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private static final String[] VERBS = { "Prepare", "Review", "Send", "Plan", "Fix", "Deploy", "Call", "Write",
+            "Update", "Book", "Pay", "Clean", "Organize", "Check", "Order", "Finish" };
+    private static final String[] NOUNS = { "report", "invoice", "meeting", "release", "budget", "slides", "contract",
+            "backup", "newsletter", "roadmap", "expenses", "tickets", "garden", "groceries", "dentist", "taxes" };
+
+    private final Connection connection;
+
+    public DatasetGenerator(Connection connection) {
+        this.connection = connection;
+    }
+
+    public static String emailOf(int userIndex) {
+        return "bench-user-" + userIndex + EMAIL_DOMAIN;
+    }
+
+    // Generates the dataset unless the generated rows already match the spec's counts
+    // Returns true when rows were (re)generated
+    public boolean ensure(DatasetSpec spec) throws SQLException {
+        if (countUsers() == spec.users() && countTodos() == spec.todos()) {
+            return false;
+        }
+        reset();
+        generate(spec);
+        return true;
+    }
+
+    public long countUsers() throws SQLException {
+        return count("SELECT count(*) FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'");
+    }
+
+    public long countTodos() throws SQLException {
+        return count("SELECT count(*) FROM todos t JOIN users u ON u.id = t.user_id "
+                + "WHERE u.email LIKE '%" + EMAIL_DOMAIN + "'");
+    }
+
+    // Removes every generated user with its todos, stats rows and the tombstones of those todos
+    public void reset() throws SQLException {
+        String generatedUsers = "SELECT id FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM todos WHERE user_id IN (" + generatedUsers + ")");
+            statement.executeUpdate("DELETE FROM todo_tombstones WHERE user_id IN (" + generatedUsers + ")");
+            statement.executeUpdate("DELETE FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'");
+        }
+    }
+
+    public void generate(DatasetSpec spec) throws SQLException {
+        Random random = new Random(spec.seed());
+        long[] todosPerUser = spec.todosPerUser();
+        UUID[] userIds = new UUID[spec.users()];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = randomUuid(random);
+        }
+
+        copyUsers(userIds, new BCryptPasswordEncoder().encode(PASSWORD));
+        copyTodos(userIds, todosPerUser, random);
+        copyTombstones(userIds, todosPerUser, random);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE todos");
+            statement.execute("ANALYZE todo_tombstones");
+        }
+    }
+
+    private void copyUsers(UUID[] userIds, String passwordHash) throws SQLException {
+        String created = TIMESTAMP.format(LocalDateTime.ofInstant(END.minusSeconds(CREATED_SPAN_SECONDS), ZoneOffset.UTC));
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY users (id, name, email, password, created_at, updated_at) FROM STDIN")) {
+            StringBuilder row = new StringBuilder(160);
+            for (int i = 0; i < userIds.length; i++) {
+                row.setLength(0);
+                row.append(userIds[i]).append('\t')
+                        .append("Benchmark User ").append(i).append('\t')
+                        .append(emailOf(i)).append('\t')
+                        .append(passwordHash).append('\t')
+                        .append(created).append('\t')
+                        .append(created).append('\n');
+                copy.write(row);
+            }
+        }
+    }
+
+    private void copyTodos(UUID[] userIds, long[] todosPerUser, Random random) throws SQLException {
+        String sql = "COPY todos (id, name, priority, completed, created_at, updated_at, user_id) FROM STDIN";
+        CopyWriter copy = new CopyWriter(connection, sql);
+        try {
+            StringBuilder row = new StringBuilder(160);
+            long rowsInChunk = 0;
+            for (int user = 0; user < userIds.length; user++) {
+                String userId = userIds[user].toString();
+                for (long n = 0; n < todosPerUser[user]; n++) {
+                    if (rowsInChunk == COPY_CHUNK_ROWS) {
+                        copy.close();
+                        copy = new CopyWriter(connection, sql);
+                        rowsInChunk = 0;
+                    }
+                    long createdOffset = (long) (random.nextDouble() * CREATED_SPAN_SECONDS * 1_000_000);
+                    Instant createdAt = END.minusSeconds(CREATED_SPAN_SECONDS).plusNanos(createdOffset * 1000);
+                    Instant updatedAt = random.nextInt(3) == 0
+                            ? createdAt.plusSeconds(random.nextLong(UPDATED_SPAN_SECONDS))
+                            : createdAt;
+
+                    row.setLength(0);
+                    row.append(randomUuid(random)).append('\t')
+                            .append(VERBS[random.nextInt(VERBS.length)]).append(' ')
+                            .append(NOUNS[random.nextInt(NOUNS.length)]).append(' ')
+                            .append(random.nextInt(10_000)).append('\t')
+                            .append(priorityOf(random.nextInt(100))).append('\t')
+                            .append(random.nextInt(100) < 40 ? 't' : 'f').append('\t')
+                            .append(TIMESTAMP.format(LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC))).append('\t')
+                            .append(TIMESTAMP.format(LocalDateTime.ofInstant(updatedAt, ZoneOffset.UTC))).append('\t')
+                            .append(userId).append('\n');
+                    copy.write(row);
+                    rowsInChunk++;
+                }
+            }
+        } finally {
+            copy.close();
+        }
+    }
+
+    // Deletion history for the delta sync queries: one tombstone per TOMBSTONE_RATIO todos of each user
+    // (ids of todos that no longer exist, deleted at a random point of the year)
+    private void copyTombstones(UUID[] userIds, long[] todosPerUser, Random random) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY todo_tombstones (todo_id, user_id, deleted_at) FROM STDIN")) {
+            StringBuilder row = new StringBuilder(100);
+            for (int user = 0; user < userIds.length; user++) {
+                String userId = userIds[user].toString();
+                for (long n = 0; n < todosPerUser[user] / TOMBSTONE_RATIO; n++) {
+                    long deletedOffset = (long) (random.nextDouble() * CREATED_SPAN_SECONDS * 1_000_000);
+                    Instant deletedAt = END.minusSeconds(CREATED_SPAN_SECONDS).plusNanos(deletedOffset * 1000);
+                    row.setLength(0);
+                    row.append(randomUuid(random)).append('\t')
+                            .append(userId).append('\t')
+                            .append(TIMESTAMP.format(LocalDateTime.ofInstant(deletedAt, ZoneOffset.UTC))).append('\n');
+                    copy.write(row);
+                }
+            }
+        }
+    }
+
+    // 50% low, 35% medium, 15% high
+    private static String priorityOf(int percentile) {
+        return percentile < 50 ? "low" : percentile < 85 ? "medium" : "high";
+    }
+
+    // Version 4 layout, drawn from the seeded Random so datasets are reproducible
+    private static UUID randomUuid(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private long count(String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+                ResultSet rows = statement.executeQuery()) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    // One COPY statement fed through a byte buffer; close() ends (commits) the COPY
+    private static final class CopyWriter implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final byte[] buffer = new byte[COPY_BUFFER_BYTES];
+        private int length;
+
+        private CopyWriter(Connection connection, String sql) throws SQLException {
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        private void write(CharSequence row) throws SQLException {
+            byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+            if (length + bytes.length > buffer.length) {
+                flush();
+            }
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void flush() throws SQLException {
+            if (length > 0) {
+                copyIn.writeToCopy(buffer, 0, length);
+                length = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copyIn.isActive()) {
+                return;
+            }
+            try {
+                flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+
+    }
+
+    public static void main(String[] args) throws SQLException {
+        DatasetSpec defaults = DatasetSpec.forTodos(longArg(args, "todos", 1_000_000L));
+        DatasetSpec spec = new DatasetSpec(
+                defaults.todos(),
+                (int) longArg(args, "users", defaults.users()),
+                (int) longArg(args, "power-users", defaults.powerUsers()),
+                (int) longArg(args, "power-user-todos", defaults.powerUserTodos()),
+                Double.parseDouble(arg(args, "skew", Double.toString(defaults.skew()))),
+                longArg(args, "seed", defaults.seed()));
+
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            DatasetGenerator generator = new DatasetGenerator(connection);
+            long start = System.nanoTime();
+            generator.reset();
+            if (!hasFlag(args, "reset-only")) {
+                generator.generate(spec);
+            }
+            System.out.printf("%s: %d users, %d todos in %.1f s%n",
+                    hasFlag(args, "reset-only") ? "Reset" : "Generated",
+                    generator.countUsers(), generator.countTodos(), (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static boolean hasFlag(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long longArg(String[] args, String name, long defaultValue) {
+        return Long.parseLong(arg(args, name, Long.toString(defaultValue)));
+    }
+
+    private static String arg(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return defaultValue;
+    }
+
+}
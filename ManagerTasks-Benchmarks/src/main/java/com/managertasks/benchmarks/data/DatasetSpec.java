@@ -0,0 +1,73 @@
+package com.managertasks.benchmarks.data;
+
+// DatasetSpec - Shape of a synthetic dataset
+//
+// Distribution Explanation:
+// - powerUsers accounts own powerUserTodos todos each (the heavy accounts that dominate p99)
+// - the remaining todos are spread over the other users with a Zipf law of exponent skew:
+//   the k-th tail user gets a share proportional to 1 / k^skew, so a few users have thousands
+//   of todos and most have a handful (or none)
+// - seed makes the dataset reproducible: same spec, same rows
+public record DatasetSpec(
+        long todos,
+        int users,
+        int powerUsers,
+        int powerUserTodos,
+        double skew,
+        long seed) {
+
+    public static final int MAX_POWER_USER_TODOS = 100_000;
+
+    // Defaults scaled from the number of todos: one user per 50 todos, 3 power users
+    // holding 10% of the rows each (capped at 100k todos)
+    public static DatasetSpec forTodos(long todos) {
+        int users = (int) Math.max(100, todos / 50);
+        int powerUserTodos = (int) Math.min(MAX_POWER_USER_TODOS, todos / 10);
+        return new DatasetSpec(todos, users, 3, powerUserTodos, 1.1, 42L);
+    }
+
+    public DatasetSpec {
+        if (todos < 0 || users < 1 || powerUsers < 0 || powerUsers > users || powerUserTodos < 0 || skew <= 0) {
+            throw new IllegalArgumentException("Invalid dataset spec");
+        }
+        if ((long) powerUsers * powerUserTodos > todos) {
+            throw new IllegalArgumentException("Power users would own more than " + todos + " todos");
+        }
+    }
+
+    // Todos per user, index 0 .. users-1 (power users first, then the tail by decreasing share)
+    public long[] todosPerUser() {
+        long[] counts = new long[users];
+        for (int i = 0; i < powerUsers; i++) {
+            counts[i] = powerUserTodos;
+        }
+        int tailUsers = users - powerUsers;
+        long tailTodos = todos - (long) powerUsers * powerUserTodos;
+        if (tailUsers == 0) {
+            if (powerUsers > 0) {
+                counts[0] += tailTodos;
+            }
+            return counts;
+        }
+
+        double[] weights = new double[tailUsers];
+        double total = 0;
+        for (int k = 0; k < tailUsers; k++) {
+            weights[k] = 1.0 / Math.pow(k + 1, skew);
+            total += weights[k];
+        }
+        long assigned = 0;
+        for (int k = 0; k < tailUsers; k++) {
+            long count = (long) Math.floor(tailTodos * weights[k] / total);
+            counts[powerUsers + k] = count;
+            assigned += count;
+        }
+        // Rounding leftovers go to the head of the tail, one each
+        for (int k = 0; assigned < tailTodos; k = (k + 1) % tailUsers) {
+            counts[powerUsers + k]++;
+            assigned++;
+        }
+        return counts;
+    }
+
+}
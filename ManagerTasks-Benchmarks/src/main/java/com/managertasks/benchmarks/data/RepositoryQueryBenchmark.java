@@ -0,0 +1,384 @@
+package com.managertasks.benchmarks.data;
+
+import com.managertasks.api.dto.request.TodoSearchCriteria;
+import com.managertasks.api.dto.response.TodoPage;
+import com.managertasks.api.dto.response.TodoView;
+import com.managertasks.api.entity.PriorityEnum;
+import com.managertasks.api.entity.Todo;
+import com.managertasks.api.entity.TodoTombstone;
+import com.managertasks.api.entity.User;
+import com.managertasks.api.repository.TodoRepository;
+import com.managertasks.api.repository.TodoStatRow;
+import com.managertasks.api.repository.TodoTombstoneRepository;
+import com.managertasks.api.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Every TodoRepository, UserRepository and TodoTombstoneRepository query against PostgreSQL holding
+// a generated dataset (DatasetGenerator, DatasetSpec.forTodos(rows)) of 10k, 1M or 10M todos
+// - owner=power: one of the 100k-todo accounts, owner=typical: the median user of the Zipf tail
+// - the dataset is (re)generated in the trial setup when the row counts differ, which takes minutes
+//   at 10M rows: run one rows value at a time (-p rows=1000000) and keep the database between runs
+// - the repositories run in a slim Spring context (auto-configured DataSource, JPA and Spring Data
+//   over the API's entities and repositories only: no web server, security or services)
+// - deletes run in transactions that are rolled back, so the dataset stays unchanged
+//
+// Usage: java -Dbench.db.url=jdbc:postgresql://localhost:5432/managertasks_db -jar target/benchmarks.jar \
+//        RepositoryQueryBenchmark -p rows=1000000
+// (JMH forks inherit the -D options of the launching JVM)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    @Param({ "10000", "1000000", "10000000" })
+    private long rows;
+
+    @Param({ "power", "typical" })
+    private String owner;
+
+    // 50 rows + 1 look-ahead, as TodoServicePostgreSQL requests its pages
+    private static final Limit PAGE = Limit.of(TodoPage.DEFAULT_LIMIT + 1);
+    private static final int BATCH = 100;
+    private static final UUID ZERO = new UUID(0L, 0L);
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository todoRepository;
+    private UserRepository userRepository;
+    private TodoTombstoneRepository todoTombstoneRepository;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate rollback;
+
+    private UUID userId;
+    private String email;
+    private UUID todoId;
+    private Instant middleCreatedAt;
+    private long middleChangeXid;
+    private long middleDeletedXid;
+    private UUID middleDeletedId;
+    private List<UUID> batchIds;
+    private TodoSearchCriteria textCriteria;
+    private TodoSearchCriteria filterCriteria;
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackages = "com.managertasks.api")
+    static class RepositoryContext {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        DatasetSpec spec = DatasetSpec.forTodos(rows);
+        int userIndex = "power".equals(owner) ? 0 : typicalUser(spec.todosPerUser(), spec.powerUsers());
+        email = DatasetGenerator.emailOf(userIndex);
+
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            new DatasetGenerator(connection).ensure(spec);
+            pickSamples(connection);
+        }
+
+        // Passed as command-line arguments: they take precedence over the API's application.properties
+        context = new SpringApplicationBuilder(RepositoryContext.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=" + BenchmarkDatabase.url(),
+                        "--spring.datasource.username=" + BenchmarkDatabase.username(),
+                        "--spring.datasource.password=" + BenchmarkDatabase.password(),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.managertasks.api=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        todoRepository = context.getBean(TodoRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        todoTombstoneRepository = context.getBean(TodoTombstoneRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        rollback = new TransactionTemplate(transactionManager);
+
+        textCriteria = TodoSearchCriteria.of(null, null, "report", null, null, null, null);
+        filterCriteria = TodoSearchCriteria.of("pending", "high", null, null, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    // Tail user (after the power users) with the median todo count among the users that have todos
+    private static int typicalUser(long[] todosPerUser, int powerUsers) {
+        Integer[] tail = new Integer[todosPerUser.length - powerUsers];
+        int size = 0;
+        for (int i = powerUsers; i < todosPerUser.length; i++) {
+            if (todosPerUser[i] > 0) {
+                tail[size++] = i;
+            }
+        }
+        if (size == 0) {
+            return 0;
+        }
+        Integer[] withTodos = Arrays.copyOf(tail, size);
+        Arrays.sort(withTodos, (a, b) -> Long.compare(todosPerUser[a], todosPerUser[b]));
+        return withTodos[size / 2];
+    }
+
+    // Sample keys read with plain JDBC: the owner's id, its middle todo by (createdAt, id) as the
+    // deep-page cursor, its middle tombstone and BATCH of its todo ids
+    private void pickSamples(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM users WHERE email = ?")) {
+            statement.setString(1, email);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                userId = result.getObject(1, UUID.class);
+            }
+        }
+
+        todoId = ZERO;
+        middleCreatedAt = Instant.EPOCH;
+        middleChangeXid = 0L;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, created_at, change_xid FROM todos WHERE user_id = ? ORDER BY created_at, id "
+                        + "OFFSET (SELECT count(*) / 2 FROM todos WHERE user_id = ?) LIMIT 1")) {
+            statement.setObject(1, userId);
+            statement.setObject(2, userId);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    todoId = result.getObject(1, UUID.class);
+                    middleCreatedAt = result.getTimestamp(2).toInstant();
+                    middleChangeXid = result.getLong(3);
+                }
+            }
+        }
+
+        middleDeletedXid = 0L;
+        middleDeletedId = ZERO;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT change_xid, todo_id FROM todo_tombstones WHERE user_id = ? ORDER BY change_xid, todo_id "
+                        + "OFFSET (SELECT count(*) / 2 FROM todo_tombstones WHERE user_id = ?) LIMIT 1")) {
+            statement.setObject(1, userId);
+            statement.setObject(2, userId);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    middleDeletedXid = result.getLong(1);
+                    middleDeletedId = result.getObject(2, UUID.class);
+                }
+            }
+        }
+
+        batchIds = new ArrayList<>(BATCH);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id FROM todos WHERE user_id = ? LIMIT " + BATCH)) {
+            statement.setObject(1, userId);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    batchIds.add(result.getObject(1, UUID.class));
+                }
+            }
+        }
+    }
+
+    // --- Single rows ---
+
+    @Benchmark
+    public Optional<TodoView> findViewByIdAndUserId() {
+        return todoRepository.findViewByIdAndUserId(todoId, userId);
+    }
+
+    @Benchmark
+    public Optional<Todo> findByIdAndUserId() {
+        return todoRepository.findByIdAndUserId(todoId, userId);
+    }
+
+    @Benchmark
+    public boolean existsByIdAndUserId() {
+        return todoRepository.existsByIdAndUserId(todoId, userId);
+    }
+
+    @Benchmark
+    public List<TodoStatRow> findStatsByUserId() {
+        return todoRepository.findStatsByUserId(userId);
+    }
+
+    // --- Keyset pages ---
+
+    @Benchmark
+    public List<TodoView> firstPage() {
+        return todoRepository.findPageByUserIdAfter(userId, Instant.EPOCH, ZERO, PAGE);
+    }
+
+    @Benchmark
+    public List<TodoView> middlePage() {
+        return todoRepository.findPageByUserIdAfter(userId, middleCreatedAt, todoId, PAGE);
+    }
+
+    @Benchmark
+    public List<TodoView> middlePageAllUsers() {
+        return todoRepository.findPageAfter(middleCreatedAt, todoId, PAGE);
+    }
+
+    @Benchmark
+    public List<TodoView> pageByCompleted() {
+        return todoRepository.findPageByUserIdAndCompletedAfter(userId, false, Instant.EPOCH, ZERO, PAGE);
+    }
+
+    @Benchmark
+    public List<TodoView> pageByPriority() {
+        return todoRepository.findPageByUserIdAndPriorityAfter(userId, PriorityEnum.high, Instant.EPOCH, ZERO, PAGE);
+    }
+
+    @Benchmark
+    public List<TodoView> pageByCompletedAndPriority() {
+        return todoRepository.findPageByUserIdAndCompletedAndPriorityAfter(userId, false, PriorityEnum.high,
+                Instant.EPOCH, ZERO, PAGE);
+    }
+
+    @Benchmark
+    public List<TodoView> searchByText() {
+        return todoRepository.search(userId, textCriteria, null, null, PAGE.max());
+    }
+
+    @Benchmark
+    public List<TodoView> searchByFilters() {
+        return todoRepository.search(userId, filterCriteria, null, null, PAGE.max());
+    }
+
+    // --- Delta sync ---
+
+    @Benchmark
+    public long changeWatermark() {
+        return todoRepository.findChangeWatermark();
+    }
+
+    @Benchmark
+    public List<Todo> changesAfter() {
+        return todoRepository.findChangesByUserIdAfter(userId, middleChangeXid, todoId, Long.MAX_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public List<TodoTombstone> tombstonesAfter() {
+        return todoTombstoneRepository.findPageByUserIdAfter(userId, middleDeletedXid, middleDeletedId,
+                Long.MAX_VALUE, PAGE);
+    }
+
+    // --- Whole-user reads (size of the owner's todo list) ---
+
+    @Benchmark
+    public List<TodoView> findViewsByUserId() {
+        return todoRepository.findViewsByUserId(userId);
+    }
+
+    @Benchmark
+    public List<TodoView> findViewsByUserIdAndCompleted() {
+        return todoRepository.findViewsByUserIdAndCompleted(userId, false);
+    }
+
+    @Benchmark
+    public List<TodoView> findViewsByUserIdAndPriority() {
+        return todoRepository.findViewsByUserIdAndPriority(userId, PriorityEnum.high);
+    }
+
+    @Benchmark
+    public List<Todo> findByUserId() {
+        return todoRepository.findByUserId(userId);
+    }
+
+    @Benchmark
+    public void streamByUserId(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<TodoView> views = todoRepository.streamByUserId(userId)) {
+                views.forEach(blackhole::consume);
+            }
+        });
+    }
+
+    // --- Batches ---
+
+    @Benchmark
+    public List<UUID> findIdsByIdInAndUserId() {
+        return todoRepository.findIdsByIdInAndUserId(batchIds, userId);
+    }
+
+    @Benchmark
+    public List<Todo> findByIdInAndUserId() {
+        return todoRepository.findByIdInAndUserId(batchIds, userId);
+    }
+
+    // --- Deletes (rolled back) ---
+
+    @Benchmark
+    public Integer deleteByIdAndUserId() {
+        return rollback.execute(status -> {
+            status.setRollbackOnly();
+            return todoRepository.deleteByIdAndUserId(todoId, userId);
+        });
+    }
+
+    @Benchmark
+    public Integer deleteByIdInAndUserId() {
+        return rollback.execute(status -> {
+            status.setRollbackOnly();
+            return todoRepository.deleteByIdInAndUserId(batchIds, userId);
+        });
+    }
+
+    // Retention purge with a cutoff older than every tombstone: the cost of finding nothing to delete
+    @Benchmark
+    public Integer deleteTombstonesBefore() {
+        return rollback.execute(status -> {
+            status.setRollbackOnly();
+            return todoTombstoneRepository.deleteByDeletedAtBefore(Instant.EPOCH);
+        });
+    }
+
+    // --- Users ---
+
+    @Benchmark
+    public Optional<User> findUserByEmail() {
+        return userRepository.findByEmail(email);
+    }
+
+    @Benchmark
+    public boolean existsUserByEmail() {
+        return userRepository.existsByEmail(email);
+    }
+
+}
@@ -0,0 +1,263 @@
+package com.managertasks.benchmarks.load;
+
+import com.managertasks.api.ManagerTasksApiApplication;
+import com.managertasks.api.dto.request.LoginRequest;
+import com.managertasks.api.dto.response.TokenResponse;
+import com.managertasks.benchmarks.data.BenchmarkDatabase;
+import com.managertasks.benchmarks.data.DatasetGenerator;
+import com.managertasks.benchmarks.data.DatasetSpec;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ThreadingLoadTest - Throughput and latency of the API on platform threads vs virtual threads
+//
+// Usage (from the repository root, database migrations applied, PostgreSQL running):
+//   java -cp ManagerTasks-Benchmarks/target/benchmarks.jar \
+//        com.managertasks.benchmarks.load.ThreadingLoadTest [--todos=100000] [--users=200] \
+//        [--concurrency=50,200,1000] [--warmup-seconds=10] [--seconds=30] \
+//        [--path=/api/v1/todo/all/database?limit=50] [--modes=platform,virtual] [--output=load-result.json]
+//
+// Measurement Explanation:
+// - The generated dataset (DatasetGenerator, DatasetSpec.forTodos(todos)) is created if missing;
+//   --users tail accounts that own todos are logged in once and share the load round-robin
+// - For each mode the whole API is started in-process on a random port, with
+//   spring.threads.virtual.enabled set accordingly and everything else as in production, except
+//   the page cache and the name index, which are disabled so every request reaches the database
+// - Each concurrency level runs a closed loop: that many clients (virtual threads of this JVM, so
+//   the load generator itself is never the bottleneck) send the next request as soon as the previous
+//   answer arrived. Only requests started after the warm-up are measured.
+// - Throughput is successful measured requests per second; latencies are exact percentiles of
+//   them; any answer other than 200 (e.g. a pool timeout) counts as an error instead
+// - Results are printed as a table and written as JSON to --output, one entry per mode and level
+public final class ThreadingLoadTest {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    // One mode at one concurrency level (latencies in milliseconds)
+    public record Result(
+            String mode,
+            int concurrency,
+            long requests,
+            long errors,
+            double throughput,
+            double p50,
+            double p90,
+            double p99,
+            double p999,
+            double max) {
+    }
+
+    private ThreadingLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetSpec spec = DatasetSpec.forTodos(Long.parseLong(arg(args, "todos", "100000")));
+        int userCount = Integer.parseInt(arg(args, "users", "200"));
+        int[] levels = Arrays.stream(arg(args, "concurrency", "50,200,1000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(arg(args, "warmup-seconds", "10")));
+        Duration measurement = Duration.ofSeconds(Long.parseLong(arg(args, "seconds", "30")));
+        String path = arg(args, "path", "/api/v1/todo/all/database?limit=50");
+        String[] modes = arg(args, "modes", "platform,virtual").split(",");
+        File output = new File(arg(args, "output", "load-result.json"));
+
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            new DatasetGenerator(connection).ensure(spec);
+        }
+        List<String> emails = clientEmails(spec, userCount);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext app = start("virtual".equals(mode))) {
+                String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+                List<String> tokens = login(client, base, emails);
+                URI uri = URI.create(base + path);
+                for (int level : levels) {
+                    Result result = run(client, uri, tokens, mode, level, warmup, measurement);
+                    results.add(result);
+                    print(result);
+                }
+            }
+        }
+
+        JSON.writerWithDefaultPrettyPrinter().writeValue(output, results);
+        System.out.println("Results written to " + output.getAbsolutePath());
+    }
+
+    // Tail users (after the power users) that own at least one todo, in dataset order
+    private static List<String> clientEmails(DatasetSpec spec, int userCount) {
+        long[] todosPerUser = spec.todosPerUser();
+        List<String> emails = new ArrayList<>(userCount);
+        for (int i = spec.powerUsers(); i < todosPerUser.length && emails.size() < userCount; i++) {
+            if (todosPerUser[i] > 0) {
+                emails.add(DatasetGenerator.emailOf(i));
+            }
+        }
+        if (emails.isEmpty()) {
+            throw new IllegalStateException("The dataset has no tail user with todos");
+        }
+        return emails;
+    }
+
+    // Passed as command-line arguments: they take precedence over the API's application.properties
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(ManagerTasksApiApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=" + BenchmarkDatabase.url(),
+                "--spring.datasource.username=" + BenchmarkDatabase.username(),
+                "--spring.datasource.password=" + BenchmarkDatabase.password(),
+                "--todo.cache.enabled=false",
+                "--todo.name-index.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.managertasks.api=WARN",
+                "--logging.level.org.springframework.security=WARN");
+    }
+
+    private static List<String> login(HttpClient client, String base, List<String> emails)
+            throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            String body = JSON.writeValueAsString(new LoginRequest(email, DatasetGenerator.PASSWORD));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/v1/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login of " + email + " failed with " + response.statusCode());
+            }
+            tokens.add(JSON.readValue(response.body(), TokenResponse.class).token());
+        }
+        return tokens;
+    }
+
+    private static Result run(HttpClient client, URI uri, List<String> tokens, String mode, int concurrency,
+            Duration warmup, Duration measurement) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + measurement.toNanos();
+        Recorder[] recorders = new Recorder[concurrency];
+        Thread[] clients = new Thread[concurrency];
+        for (int c = 0; c < concurrency; c++) {
+            Recorder recorder = new Recorder();
+            String token = tokens.get(c % tokens.size());
+            recorders[c] = recorder;
+            clients[c] = Thread.ofVirtual().name("load-client-" + c).start(() -> {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build();
+                while (true) {
+                    long started = System.nanoTime();
+                    if (started >= measureUntil) {
+                        return;
+                    }
+                    boolean ok;
+                    try {
+                        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (IOException ex) {
+                        ok = false;
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (started >= measureFrom) {
+                        recorder.record(ok, System.nanoTime() - started);
+                    }
+                }
+            });
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+
+        long errors = 0;
+        int total = 0;
+        for (Recorder recorder : recorders) {
+            errors += recorder.errors;
+            total += recorder.size;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(latencies);
+        double seconds = measurement.toNanos() / 1e9;
+        return new Result(mode, concurrency, total, errors, total / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), total == 0 ? 0 : millis(latencies[total - 1]));
+    }
+
+    // Latencies of the successful requests of one client (only touched by that client's thread)
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(boolean ok, long nanos) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+
+    }
+
+    // Nearest-rank percentile of sorted latencies, in milliseconds
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return millis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static void print(Result result) {
+        System.out.printf("%-8s clients=%-5d %,10.0f req/s  p50=%7.2f ms  p90=%7.2f ms  p99=%7.2f ms  "
+                        + "p99.9=%7.2f ms  max=%7.2f ms  errors=%d%n",
+                result.mode(), result.concurrency(), result.throughput(), result.p50(), result.p90(),
+                result.p99(), result.p999(), result.max(), result.errors());
+    }
+
+    private static String arg(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return defaultValue;
+    }
+
+}
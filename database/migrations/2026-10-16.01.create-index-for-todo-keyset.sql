@@ -0,0 +1,8 @@
+-- Composite indexes for keyset pagination over (created_at, id)
+-- Serve "WHERE (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT n" as a bounded index range scan
+
+-- Global listing (/api/v1/todo/all/database)
+CREATE INDEX IF NOT EXISTS idx_todos_created_at_id ON todos (created_at, id);
+
+-- Per-user listing
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_created_at_id ON todos (user_id, created_at, id);
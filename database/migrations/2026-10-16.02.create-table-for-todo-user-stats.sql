@@ -0,0 +1,68 @@
+-- Per-user todo counters for the stats endpoint (/api/v1/todo/stats/database)
+-- At most 6 rows per user (3 priorities x completed/open), so reading a user's stats is O(1)
+-- whatever the number of todos
+CREATE TABLE IF NOT EXISTS todo_user_stats (
+    user_id UUID NOT NULL,
+    priority priority_enum NOT NULL,
+    completed BOOLEAN NOT NULL,
+    todo_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, priority, completed),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Counters are maintained by statement-level triggers in the same transaction as the write,
+-- so every path (JPA, JDBC batches, COPY imports, bulk deletes, manual SQL) keeps them exact
+-- The transition tables hold all rows of the statement: a 300k row COPY costs one grouped
+-- upsert, not 300k counter updates
+CREATE OR REPLACE FUNCTION todo_user_stats_apply() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO todo_user_stats (user_id, priority, completed, todo_count)
+        SELECT o.user_id, o.priority, COALESCE(o.completed, false), -COUNT(*)
+        FROM old_rows o
+        -- Rows removed by ON DELETE CASCADE of their user are not counted back in
+        WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = o.user_id)
+        GROUP BY 1, 2, 3
+        ORDER BY 1, 2, 3
+        ON CONFLICT (user_id, priority, completed)
+        DO UPDATE SET todo_count = todo_user_stats.todo_count + EXCLUDED.todo_count;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO todo_user_stats (user_id, priority, completed, todo_count)
+        SELECT n.user_id, n.priority, COALESCE(n.completed, false), COUNT(*)
+        FROM new_rows n
+        GROUP BY 1, 2, 3
+        ORDER BY 1, 2, 3
+        ON CONFLICT (user_id, priority, completed)
+        DO UPDATE SET todo_count = todo_user_stats.todo_count + EXCLUDED.todo_count;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS todos_stats_insert ON todos;
+CREATE TRIGGER todos_stats_insert
+    AFTER INSERT ON todos
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION todo_user_stats_apply();
+
+DROP TRIGGER IF EXISTS todos_stats_update ON todos;
+CREATE TRIGGER todos_stats_update
+    AFTER UPDATE ON todos
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION todo_user_stats_apply();
+
+DROP TRIGGER IF EXISTS todos_stats_delete ON todos;
+CREATE TRIGGER todos_stats_delete
+    AFTER DELETE ON todos
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION todo_user_stats_apply();
+
+-- Backfill the counters for todos that existed before this migration
+INSERT INTO todo_user_stats (user_id, priority, completed, todo_count)
+SELECT user_id, priority, COALESCE(completed, false), COUNT(*)
+FROM todos
+GROUP BY 1, 2, 3
+ON CONFLICT (user_id, priority, completed) DO UPDATE SET todo_count = EXCLUDED.todo_count;
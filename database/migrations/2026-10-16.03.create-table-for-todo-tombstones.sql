@@ -0,0 +1,34 @@
+-- Delta sync (/api/v1/todo/changes/database): changed todos are found by (user_id, updated_at, id)
+-- "WHERE user_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id" is a bounded index range scan
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_updated_at_id ON todos (user_id, updated_at, id);
+
+-- Tombstones: one row per deleted todo, so deletions reach clients that synced before them
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_id_deleted_at ON todo_tombstones (user_id, deleted_at, todo_id);
+
+-- Written by a statement-level trigger, so single deletes, bulk deletes and manual SQL all leave
+-- tombstones in the deleting transaction
+-- LOCALTIMESTAMP uses the session time zone, like the CURRENT_TIMESTAMP defaults of todos
+CREATE OR REPLACE FUNCTION todo_tombstones_record() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO todo_tombstones (todo_id, user_id, deleted_at)
+    SELECT o.id, o.user_id, LOCALTIMESTAMP
+    FROM old_rows o
+    -- No tombstones for todos removed together with their user (ON DELETE CASCADE)
+    WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = o.user_id)
+    ON CONFLICT (todo_id) DO UPDATE SET user_id = EXCLUDED.user_id, deleted_at = EXCLUDED.deleted_at;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS todos_tombstones_delete ON todos;
+CREATE TRIGGER todos_tombstones_delete
+    AFTER DELETE ON todos
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION todo_tombstones_record();
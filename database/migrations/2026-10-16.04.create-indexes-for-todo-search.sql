@@ -0,0 +1,17 @@
+-- Indexes for /api/v1/todo/search/list (dynamic filters + keyset pagination over (created_at, id))
+-- Every B-tree starts with the filters compared by equality and ends in (created_at, id), so the
+-- keyset condition and ORDER BY created_at, id stay a bounded index range scan
+
+-- status filter (completed / pending)
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_completed_created_at_id ON todos (user_id, completed, created_at, id);
+
+-- priority filter
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_priority_created_at_id ON todos (user_id, priority, created_at, id);
+
+-- status + priority filters
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_completed_priority_created_at_id ON todos (user_id, completed, priority, created_at, id);
+
+-- Name text filter: lower(name) LIKE '%text%' can use a trigram GIN index (no leading-wildcard problem)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_todos_name_trgm ON todos USING GIN (lower(name) gin_trgm_ops);
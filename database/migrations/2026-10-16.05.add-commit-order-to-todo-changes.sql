@@ -0,0 +1,49 @@
+-- Delta sync in commit order (/api/v1/todo/changes/database)
+-- updated_at / deleted_at are taken when the writing transaction runs, not when it commits: a long
+-- transaction (bulk import, batch, slow request) can commit rows stamped minutes before rows another
+-- client has already synced past, and a time-based cursor would skip them for good.
+-- change_xid is the ID of the transaction that last wrote the row (pg_current_xact_id, 64-bit, never
+-- wraps). The sync only reads rows whose change_xid is below the xmin of a fresh snapshot: every
+-- transaction below xmin has finished, so no row can appear later behind a cursor taken from them.
+-- Stored as BIGINT (an xid8 always fits) so JPA can compare it like any other number.
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT (pg_current_xact_id()::text::bigint);
+CREATE INDEX IF NOT EXISTS idx_todos_user_id_change_xid_id ON todos (user_id, change_xid, id);
+
+-- Inserts (JPA, batches, COPY import) get the column default; updates are re-stamped here, whatever
+-- statement or tool changed the row
+CREATE OR REPLACE FUNCTION todos_stamp_change_xid() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS todos_change_xid_update ON todos;
+CREATE TRIGGER todos_change_xid_update
+    BEFORE UPDATE ON todos
+    FOR EACH ROW EXECUTE FUNCTION todos_stamp_change_xid();
+
+ALTER TABLE todo_tombstones ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT (pg_current_xact_id()::text::bigint);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_id_change_xid ON todo_tombstones (user_id, change_xid, todo_id);
+
+-- Same trigger as in 2026-10-16.03, now also re-stamping change_xid when a tombstone is overwritten
+CREATE OR REPLACE FUNCTION todo_tombstones_record() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO todo_tombstones (todo_id, user_id, deleted_at)
+    SELECT o.id, o.user_id, LOCALTIMESTAMP
+    FROM old_rows o
+    -- No tombstones for todos removed together with their user (ON DELETE CASCADE)
+    WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = o.user_id)
+    ON CONFLICT (todo_id) DO UPDATE SET user_id = EXCLUDED.user_id, deleted_at = EXCLUDED.deleted_at,
+        change_xid = EXCLUDED.change_xid;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Delta sync no longer reads tombstones by deleted_at; the retention purge (deleted_at < cutoff,
+-- every user at once) never could use an index led by user_id either
+DROP INDEX IF EXISTS idx_todo_tombstones_user_id_deleted_at;
+
+-- idx_todos_user_id_updated_at_id (2026-10-16.03) stays: delta sync moved to change_xid, but the
+-- updatedFrom / updatedTo filters of /api/v1/todo/search/list still range-scan it